@@ -1,7 +1,9 @@
 plugins {
     java
     id("org.springframework.boot") version "4.0.2"
+    id("org.springframework.boot.aot") version "4.0.2"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "io.vacivor"
@@ -14,6 +16,20 @@ java {
     }
 }
 
+sourceSets {
+    create("loadTest") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+val loadTestImplementation by configurations.getting {
+    extendsFrom(configurations.implementation.get())
+}
+val loadTestRuntimeOnly by configurations.getting {
+    extendsFrom(configurations.runtimeOnly.get())
+}
+
 repositories {
     mavenCentral()
 }
@@ -22,13 +38,95 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-webmvc")
     implementation("org.springframework.boot:spring-boot-starter-hateoas")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("com.github.ben-manes.caffeine:caffeine")
     implementation("io.github.vishwakarma:zjsonpatch:0.6.2")
-    runtimeOnly("org.postgresql:postgresql")
+    implementation("tools.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("tools.jackson.dataformat:jackson-dataformat-smile")
+    implementation("org.springframework.boot:spring-boot-starter-flyway")
+    implementation("org.flywaydb:flyway-database-postgresql")
+    implementation("org.postgresql:postgresql")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     testImplementation("org.springframework.boot:spring-boot-starter-data-jpa-test")
     testImplementation("org.springframework.boot:spring-boot-starter-webmvc-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    jmh("org.springframework:spring-test")
+    loadTestRuntimeOnly("com.h2database:h2")
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+tasks.register<JavaExec>("virtualThreadBenchmark") {
+    group = "verification"
+    description = "Drives a running instance at 1k-10k concurrent clients; pass -Pload.baseUrl and -Pload.label."
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass = "io.vacivor.restful.load.VirtualThreadBenchmark"
+    listOf("load.baseUrl", "load.label", "load.concurrency", "load.warmup", "load.duration").forEach { key ->
+        providers.gradleProperty(key).orNull?.let { systemProperty(key, it) }
+    }
+}
+
+tasks.register<JavaExec>("endToEndBenchmark") {
+    group = "verification"
+    description = "Boots the application on an in-memory H2 database (PostgreSQL mode) and load tests /users."
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass = "io.vacivor.restful.load.EndToEndBenchmark"
+    systemProperty("load.output", layout.buildDirectory.file("load/results.json").get().asFile.path)
+    listOf("load.seed", "load.concurrency", "load.warmup", "load.duration", "load.cache").forEach { key ->
+        providers.gradleProperty(key).orNull?.let { systemProperty(key, it) }
+    }
+}
+
+val aotCacheDir = layout.buildDirectory.dir("aot-cache")
+val extractedJar = aotCacheDir.zip(tasks.bootJar.flatMap { it.archiveFileName }) { dir, name ->
+    dir.file("app/$name")
+}
+val aotCacheFile = aotCacheDir.map { it.file("app.aot") }
+
+tasks.register<JavaExec>("extractBootJar") {
+    group = "build"
+    description = "Extracts the boot jar (with Spring AOT classes) into build/aot-cache/app."
+    classpath(tasks.bootJar)
+    mainClass = "org.springframework.boot.loader.launch.JarLauncher"
+    jvmArgs("-Djarmode=tools")
+    args("extract", "--destination", aotCacheDir.get().dir("app").asFile.path, "--force")
+    outputs.dir(aotCacheDir.map { it.dir("app") })
+}
+
+tasks.register<JavaExec>("aotCacheTraining") {
+    group = "build"
+    description = "Training run that writes a JDK AOT cache for the extracted jar; pass -Paot.appArgs to point it at a database."
+    dependsOn("extractBootJar")
+    classpath(extractedJar)
+    mainClass = "io.vacivor.restful.RestfulApplication"
+    jvmArgs(
+        "-XX:AOTCacheOutput=${aotCacheFile.get().asFile.path}",
+        "-Dspring.aot.enabled=true",
+        "-Dspring.context.exit=onRefresh",
+    )
+    providers.gradleProperty("aot.appArgs").orNull?.let { args(it.trim().split(Regex("\\s+"))) }
+    outputs.file(aotCacheFile)
+}
+
+tasks.register<JavaExec>("startupBenchmark") {
+    group = "verification"
+    description = "Measures time to ready and to the first GET /users with and without Spring AOT and the JDK AOT cache."
+    dependsOn("aotCacheTraining")
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass = "io.vacivor.restful.load.StartupBenchmark"
+    systemProperty("load.jar", extractedJar.get().asFile.path)
+    systemProperty("load.aotCache", aotCacheFile.get().asFile.path)
+    systemProperty("load.output", layout.buildDirectory.file("load/startup.json").get().asFile.path)
+    listOf("load.runs", "load.port", "load.appArgs").forEach { key ->
+        providers.gradleProperty(key).orNull?.let { systemProperty(key, it) }
+    }
+}
+
+jmh {
+    jmhVersion = "1.37"
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    providers.gradleProperty("jmh.includes").orNull?.let { includes = listOf(it) }
+}
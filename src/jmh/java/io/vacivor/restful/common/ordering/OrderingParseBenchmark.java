@@ -0,0 +1,66 @@
+package io.vacivor.restful.common.ordering;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderingParseBenchmark {
+
+  private static final List<String> FIELDS =
+      List.of("id", "username", "email", "status", "createdAt");
+
+  @Param({"username", "username desc,createdAt asc", "status desc,createdAt desc,email asc"})
+  public String orderBy;
+
+  private OrderingPlan<Sort, Sort.Order> springDataPlan;
+  private OrderingPlan<DefaultSort, DefaultOrder> defaultPlan;
+
+  @Setup
+  public void setUp() {
+    springDataPlan = OrderingPlan.compile(new SpringDataOrderingAdapter(), FIELDS);
+    defaultPlan = OrderingPlan.compile(new DefaultOrderingAdapter(), FIELDS);
+  }
+
+  @Benchmark
+  public DefaultSort parseDefaultAdapter() {
+    return new OrderingParameters<>(orderBy, new DefaultOrderingAdapter())
+        .allow(FIELDS)
+        .parse()
+        .getSort();
+  }
+
+  @Benchmark
+  public Sort parseSpringDataAdapter() {
+    return new OrderingParameters<>(orderBy, new SpringDataOrderingAdapter())
+        .allow(FIELDS)
+        .parse()
+        .getSort();
+  }
+
+  @Benchmark
+  public DefaultSort cachedPlanDefaultAdapter() {
+    return defaultPlan.getSort(orderBy);
+  }
+
+  @Benchmark
+  public Sort cachedPlanSpringDataAdapter() {
+    return springDataPlan.getSort(orderBy);
+  }
+}
@@ -0,0 +1,93 @@
+package io.vacivor.restful.controller;
+
+import io.vacivor.restful.assembler.UserModelAssembler;
+import io.vacivor.restful.common.pagination.SlicePaginationInfo;
+import io.vacivor.restful.domain.User;
+import io.vacivor.restful.domain.UserStatusEnum;
+import io.vacivor.restful.dto.UserResponse;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import tools.jackson.databind.json.JsonMapper;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserHotPathBenchmark {
+
+  private final UserModelAssembler assembler = new UserModelAssembler();
+  private JsonMapper mapper;
+  private User user;
+  private PagedModel.PageMetadata pageMetadata;
+  private SlicePaginationInfo sliceInfo;
+  private int code;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    mapper = JsonMapper.builder().build();
+    user = new User();
+    user.setId(42L);
+    user.setUsername("alice");
+    user.setEmail("alice@example.com");
+    user.setStatus(UserStatusEnum.ENABLED);
+    user.setCreatedAt(OffsetDateTime.now());
+    user.setVersion(3L);
+    pageMetadata = new PagedModel.PageMetadata(20, 3, 12_345, 618);
+    sliceInfo = new SlicePaginationInfo(20, 3, true);
+    code = UserStatusEnum.DISABLED.getCode();
+  }
+
+  @Setup(Level.Iteration)
+  public void bindRequest() {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/42");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+  }
+
+  @TearDown(Level.Iteration)
+  public void unbindRequest() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Benchmark
+  public UserResponse assemble() {
+    return assembler.toModel(user);
+  }
+
+  @Benchmark
+  public UserResponse assembleWithMethodLinks() {
+    return assembler.addMethodLinks(assembler.toModel(user));
+  }
+
+  @Benchmark
+  public UserStatusEnum statusFromCode() {
+    return UserStatusEnum.fromCode(code);
+  }
+
+  @Benchmark
+  public String paginationHeaderExact() {
+    return mapper.writeValueAsString(pageMetadata);
+  }
+
+  @Benchmark
+  public String paginationHeaderSlice() {
+    return mapper.writeValueAsString(sliceInfo);
+  }
+}
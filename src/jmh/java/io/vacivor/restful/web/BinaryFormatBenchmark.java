@@ -0,0 +1,102 @@
+package io.vacivor.restful.web;
+
+import io.vacivor.restful.dto.UserResponse;
+import io.vacivor.restful.hateoas.HalBinaryModule;
+import io.vacivor.restful.hateoas.MethodLink;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Encodes and decodes a single user and a 100 item page as HAL JSON, CBOR and Smile.
+ * Payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+  private static final int PAGE_SIZE = 100;
+
+  @Param({"json", "cbor", "smile"})
+  public String format;
+
+  @Param({"item", "page"})
+  public String payload;
+
+  private ObjectMapper mapper;
+  private Object value;
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() {
+    mapper = switch (format) {
+      case "cbor" -> CBORMapper.builder().addModule(new HalBinaryModule()).build();
+      case "smile" -> SmileMapper.builder().addModule(new HalBinaryModule()).build();
+      default -> JsonMapper.builder().addModule(new HalBinaryModule()).build();
+    };
+    value = "page".equals(payload) ? page() : user(1);
+    encoded = mapper.writeValueAsBytes(value);
+    System.out.printf("%n%s %s: %d bytes%n", format, payload, encoded.length);
+  }
+
+  @Benchmark
+  public byte[] encode() {
+    return mapper.writeValueAsBytes(value);
+  }
+
+  @Benchmark
+  public JsonNode decode() {
+    return mapper.readTree(encoded);
+  }
+
+  private static PagedModel<UserResponse> page() {
+    List<UserResponse> users = new ArrayList<>(PAGE_SIZE);
+    for (long id = 1; id <= PAGE_SIZE; id++) {
+      users.add(user(id));
+    }
+    PagedModel<UserResponse> model = PagedModel.of(
+        users, new PagedModel.PageMetadata(PAGE_SIZE, 0, 10_000, 100));
+    model.add(Link.of("http://localhost:8080/users?page=0&size=100"));
+    model.add(Link.of("http://localhost:8080/users?page=1&size=100", "next"));
+    return model;
+  }
+
+  private static UserResponse user(long id) {
+    UserResponse user = new UserResponse();
+    user.setId(id);
+    user.setUsername("user" + id);
+    user.setEmail("user" + id + "@example.com");
+    user.setStatus(200);
+    user.setCreatedAt(OffsetDateTime.now());
+    String self = "http://localhost:8080/users/" + id;
+    user.add(MethodLink.of(self, "self", "GET"));
+    user.add(MethodLink.of(self, "patch", "PATCH"));
+    user.add(MethodLink.of(self, "delete", "DELETE"));
+    user.add(MethodLink.of(self + ":enable", "enable", "POST"));
+    user.add(MethodLink.of(self + ":disable", "disable", "POST"));
+    return user;
+  }
+}
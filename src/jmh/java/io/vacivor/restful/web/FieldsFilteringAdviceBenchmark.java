@@ -0,0 +1,105 @@
+package io.vacivor.restful.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vacivor.restful.controller.UserController;
+import io.vacivor.restful.dto.UserResponse;
+import io.vacivor.restful.hateoas.MethodLink;
+import java.lang.reflect.Method;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldsFilteringAdviceBenchmark {
+
+  @Param({"", "id,username", "id,username,status,_links"})
+  public String fields;
+
+  @Param({"1", "20", "100"})
+  public int items;
+
+  private final FieldsFilteringAdvice advice =
+      new FieldsFilteringAdvice(new PipelineMetrics(new SimpleMeterRegistry()));
+  private JsonMapper mapper;
+  private MethodParameter returnType;
+  private Object body;
+  private ServletServerHttpRequest request;
+
+  @Setup
+  public void setUp() {
+    mapper = JsonMapper.builder().build();
+    Method list = Arrays.stream(UserController.class.getMethods())
+        .filter(method -> method.getName().equals("list"))
+        .findFirst()
+        .orElseThrow();
+    returnType = new MethodParameter(list, -1);
+    List<UserResponse> page = new ArrayList<>(items);
+    for (long id = 1; id <= items; id++) {
+      page.add(user(id));
+    }
+    body = items == 1 ? page.getFirst() : page;
+    MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/users");
+    if (!fields.isEmpty()) {
+      servletRequest.setParameter("fields", fields);
+    }
+    request = new ServletServerHttpRequest(servletRequest);
+  }
+
+  @Benchmark
+  public Object beforeBodyWrite() {
+    return advice.beforeBodyWrite(body, returnType, MediaType.APPLICATION_JSON,
+        converterType(), request, new ServletServerHttpResponse(new MockHttpServletResponse()));
+  }
+
+  @Benchmark
+  public byte[] beforeBodyWriteAndSerialize() {
+    return mapper.writeValueAsBytes(beforeBodyWrite());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Class<? extends HttpMessageConverter<?>> converterType() {
+    return (Class<? extends HttpMessageConverter<?>>) (Class<?>) HttpMessageConverter.class;
+  }
+
+  private static UserResponse user(long id) {
+    UserResponse user = new UserResponse();
+    user.setId(id);
+    user.setUsername("user" + id);
+    user.setEmail("user" + id + "@example.com");
+    user.setStatus(200);
+    user.setCreatedAt(OffsetDateTime.now());
+    String self = "http://localhost:8080/users/" + id;
+    user.add(MethodLink.of(self, "self", "GET"));
+    user.add(MethodLink.of(self, "patch", "PATCH"));
+    user.add(MethodLink.of(self, "delete", "DELETE"));
+    user.add(MethodLink.of(self + ":enable", "enable", "POST"));
+    user.add(MethodLink.of(self + ":disable", "disable", "POST"));
+    return user;
+  }
+}
@@ -0,0 +1,88 @@
+package io.vacivor.restful.web;
+
+import io.vacivor.restful.dto.UserResponse;
+import io.vacivor.restful.hateoas.FieldSet;
+import io.vacivor.restful.hateoas.MethodLink;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Compares the former convert-to-map shaping with {@link ShapedBody} on a 500 item page.
+ * Scores and {@code gc.alloc.rate.norm} are per item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldsShapingBenchmark {
+
+  private static final int PAGE_SIZE = 500;
+  private static final String FIELDS = "id,username,status,_links";
+
+  private JsonMapper mapper;
+  private List<UserResponse> page;
+
+  @Setup
+  public void setUp() {
+    mapper = JsonMapper.builder().build();
+    page = new ArrayList<>(PAGE_SIZE);
+    for (long id = 1; id <= PAGE_SIZE; id++) {
+      UserResponse user = new UserResponse();
+      user.setId(id);
+      user.setUsername("user" + id);
+      user.setEmail("user" + id + "@example.com");
+      user.setStatus(200);
+      user.setCreatedAt(OffsetDateTime.now());
+      String self = "http://localhost:8080/users/" + id;
+      user.add(MethodLink.of(self, "self", "GET"));
+      user.add(MethodLink.of(self, "patch", "PATCH"));
+      user.add(MethodLink.of(self, "delete", "DELETE"));
+      user.add(MethodLink.of(self + ":enable", "enable", "POST"));
+      user.add(MethodLink.of(self + ":disable", "disable", "POST"));
+      page.add(user);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PAGE_SIZE)
+  public byte[] treeConversion() {
+    FieldSet fields = FieldSet.parse(FIELDS);
+    List<Object> items = new ArrayList<>(page.size());
+    for (UserResponse user : page) {
+      Map<String, Object> map = mapper.convertValue(
+          user, new TypeReference<LinkedHashMap<String, Object>>() {
+          });
+      map.keySet().removeIf(key -> !fields.names().contains(key));
+      if (map.containsKey("links")) {
+        map.put("_links", map.remove("links"));
+      }
+      items.add(map);
+    }
+    return mapper.writeValueAsBytes(items);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PAGE_SIZE)
+  public byte[] streamingShaping() {
+    return mapper.writeValueAsBytes(new ShapedBody(page, FieldSet.parse(FIELDS)));
+  }
+}
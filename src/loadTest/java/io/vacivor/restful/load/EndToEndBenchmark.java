@@ -0,0 +1,163 @@
+package io.vacivor.restful.load;
+
+import io.vacivor.restful.RestfulApplication;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+public final class EndToEndBenchmark {
+
+  private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+  private static final String[] ORDER_BY = {
+      "", "username", "createdAt desc", "status desc,createdAt desc", "email asc"};
+  private static final String[] FIELDS = {"", "id,username", "id,username,status,_links"};
+  private static final int[] PAGE_SIZES = {10, 20, 50, 100};
+
+  private EndToEndBenchmark() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    int seed = Integer.getInteger("load.seed", 10_000);
+    int concurrency = Integer.getInteger("load.concurrency", 64);
+    Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT5S"));
+    Duration duration = Duration.parse(System.getProperty("load.duration", "PT20S"));
+    Path output = Path.of(System.getProperty("load.output", "build/load/results.json"));
+
+    try (ConfigurableApplicationContext context = SpringApplication.run(RestfulApplication.class,
+        "--server.port=0",
+        "--spring.datasource.url=jdbc:h2:mem:restful;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "--spring.jpa.hibernate.ddl-auto=create-drop",
+        "--spring.flyway.enabled=false",
+        "--restful.cache.users.enabled=" + System.getProperty("load.cache", "true"))) {
+      int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+      String baseUrl = "http://localhost:" + port;
+      HttpClient client = HttpLoadDriver.newClient();
+
+      List<Long> ids = seed(client, baseUrl, seed);
+      ConcurrentLinkedQueue<Long> created = new ConcurrentLinkedQueue<>();
+      HttpLoadDriver driver = new HttpLoadDriver(client);
+      List<HttpLoadDriver.Result> results = new ArrayList<>();
+
+      results.add(driver.run("list", concurrency, warmup, duration, random -> get(baseUrl
+          + "/users?page=" + (1 + random.nextInt(20))
+          + "&pageSize=" + pick(random, PAGE_SIZES)
+          + param("orderBy", pick(random, ORDER_BY))
+          + param("fields", pick(random, FIELDS)))));
+      results.add(driver.run("list-cursor", concurrency, warmup, duration, random -> get(baseUrl
+          + "/users?pageSize=" + pick(random, PAGE_SIZES) + "&totalCount=none"
+          + param("orderBy", pick(random, ORDER_BY)))));
+      results.add(driver.run("get", concurrency, warmup, duration,
+          random -> get(baseUrl + "/users/" + pick(random, ids)
+              + (random.nextBoolean() ? "" : "?fields=id,username"))));
+      results.add(driver.run("create", concurrency, warmup, duration,
+          random -> json("POST", baseUrl + "/users", "application/json",
+              "{\"username\":\"load-" + random.nextLong() + "\",\"email\":\"load-"
+                  + random.nextLong() + "@example.com\"}"),
+          response -> response.headers().firstValue("Location")
+              .map(location -> Long.parseLong(location.substring(location.lastIndexOf('/') + 1)))
+              .ifPresent(created::add)));
+      results.add(driver.run("patch", concurrency, warmup, duration,
+          random -> random.nextBoolean()
+              ? json("PATCH", baseUrl + "/users/" + pick(random, ids),
+                  "application/json-patch+json",
+                  "[{\"op\":\"replace\",\"path\":\"/username\",\"value\":\"patched-"
+                      + random.nextInt(1_000_000) + "\"}]")
+              : json("PATCH", baseUrl + "/users/" + pick(random, ids),
+                  "application/merge-patch+json",
+                  "{\"email\":\"merged-" + random.nextInt(1_000_000) + "@example.com\"}")));
+      results.add(driver.run("enable-disable", concurrency, warmup, duration,
+          random -> json("POST", baseUrl + "/users/" + pick(random, ids)
+              + (random.nextBoolean() ? ":enable" : ":disable"), "application/json", "")));
+      results.add(driver.run("delete", concurrency, Duration.ZERO, duration, random -> {
+        Long id = created.poll();
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/users/" + (id == null ? 0 : id)))
+            .timeout(Duration.ofSeconds(30))
+            .DELETE()
+            .build();
+      }));
+
+      StringBuilder json = new StringBuilder("[\n");
+      for (int i = 0; i < results.size(); i++) {
+        json.append("  ").append(results.get(i).toJson())
+            .append(i + 1 < results.size() ? ",\n" : "\n");
+      }
+      json.append("]\n");
+      Files.createDirectories(output.toAbsolutePath().getParent());
+      Files.writeString(output, json);
+      System.out.print(json);
+    }
+  }
+
+  private static List<Long> seed(HttpClient client, String baseUrl, int count)
+      throws IOException, InterruptedException {
+    List<Long> ids = new ArrayList<>(count);
+    int batch = 1000;
+    for (int offset = 0; offset < count; offset += batch) {
+      StringBuilder body = new StringBuilder("[");
+      for (int i = offset; i < Math.min(count, offset + batch); i++) {
+        if (i > offset) {
+          body.append(',');
+        }
+        body.append("{\"username\":\"user").append(i)
+            .append("\",\"email\":\"user").append(i).append("@example.com\"}");
+      }
+      body.append(']');
+      HttpResponse<String> response = client.send(
+          json("POST", baseUrl + "/users:batchCreate", "application/json", body.toString()),
+          HttpResponse.BodyHandlers.ofString());
+      Matcher matcher = ID.matcher(response.body());
+      while (matcher.find()) {
+        ids.add(Long.parseLong(matcher.group(1)));
+      }
+    }
+    if (ids.isEmpty()) {
+      throw new IllegalStateException("Seeding created no users");
+    }
+    return ids;
+  }
+
+  private static HttpRequest get(String url) {
+    return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+  }
+
+  private static HttpRequest json(String method, String url, String contentType, String body) {
+    return HttpRequest.newBuilder(URI.create(url))
+        .timeout(Duration.ofSeconds(30))
+        .header("Content-Type", contentType)
+        .method(method, HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private static String param(String name, String value) {
+    return value.isEmpty() ? "" : "&" + name + "=" + value.replace(" ", "%20").replace(",", "%2C");
+  }
+
+  private static String pick(ThreadLocalRandom random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  private static int pick(ThreadLocalRandom random, int[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  private static long pick(ThreadLocalRandom random, List<Long> values) {
+    return values.get(random.nextInt(values.size()));
+  }
+}
@@ -0,0 +1,139 @@
+package io.vacivor.restful.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public final class HttpLoadDriver {
+
+  private final HttpClient client;
+
+  public HttpLoadDriver(HttpClient client) {
+    this.client = client;
+  }
+
+  public static HttpClient newClient() {
+    return HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+  }
+
+  public Result run(String name, int concurrency, Duration warmup, Duration duration,
+      Function<ThreadLocalRandom, HttpRequest> requests) throws Exception {
+    return run(name, concurrency, warmup, duration, requests, response -> {
+    });
+  }
+
+  public Result run(String name, int concurrency, Duration warmup, Duration duration,
+      Function<ThreadLocalRandom, HttpRequest> requests,
+      Consumer<HttpResponse<Void>> onResponse) throws Exception {
+    long warmupEnd = System.nanoTime() + warmup.toNanos();
+    long end = warmupEnd + duration.toNanos();
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<?>[] futures = new Future<?>[concurrency];
+      Recorder[] recorders = new Recorder[concurrency];
+      for (int i = 0; i < concurrency; i++) {
+        Recorder recorder = new Recorder();
+        recorders[i] = recorder;
+        futures[i] = clients.submit(
+            () -> drive(recorder, warmupEnd, end, requests, onResponse));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      return Result.merge(name, concurrency, duration, recorders);
+    }
+  }
+
+  private Void drive(Recorder recorder, long warmupEnd, long end,
+      Function<ThreadLocalRandom, HttpRequest> requests,
+      Consumer<HttpResponse<Void>> onResponse) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long now;
+    while ((now = System.nanoTime()) < end) {
+      boolean ok;
+      try {
+        HttpResponse<Void> response =
+            client.send(requests.apply(random), HttpResponse.BodyHandlers.discarding());
+        ok = response.statusCode() < 400;
+        if (ok) {
+          onResponse.accept(response);
+        }
+      } catch (Exception e) {
+        ok = false;
+      }
+      if (now >= warmupEnd) {
+        recorder.record(System.nanoTime() - now, ok);
+      }
+    }
+    return null;
+  }
+
+  private static final class Recorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+
+    void record(long nanos, boolean ok) {
+      if (!ok) {
+        errors++;
+      }
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = nanos;
+    }
+  }
+
+  public record Result(String name, int concurrency, long requests, long errors,
+      double throughput, double p50Millis, double p90Millis, double p99Millis, double maxMillis) {
+
+    static Result merge(String name, int concurrency, Duration duration, Recorder[] recorders) {
+      int total = 0;
+      long errors = 0;
+      for (Recorder recorder : recorders) {
+        total += recorder.count;
+        errors += recorder.errors;
+      }
+      long[] all = new long[total];
+      int offset = 0;
+      for (Recorder recorder : recorders) {
+        System.arraycopy(recorder.latencies, 0, all, offset, recorder.count);
+        offset += recorder.count;
+      }
+      Arrays.sort(all);
+      double seconds = duration.toNanos() / 1e9;
+      return new Result(name, concurrency, total, errors, total / seconds,
+          percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99),
+          total == 0 ? 0 : all[total - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+      if (sorted.length == 0) {
+        return 0;
+      }
+      int index = (int) Math.ceil(p * sorted.length) - 1;
+      return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    public String toJson() {
+      return String.format(Locale.ROOT,
+          "{\"name\":\"%s\",\"concurrency\":%d,\"requests\":%d,\"errors\":%d,"
+              + "\"throughput\":%.1f,\"p50Ms\":%.2f,\"p90Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}",
+          name, concurrency, requests, errors, throughput, p50Millis, p90Millis, p99Millis,
+          maxMillis);
+    }
+  }
+}
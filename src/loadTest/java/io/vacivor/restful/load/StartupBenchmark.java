@@ -0,0 +1,151 @@
+package io.vacivor.restful.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launches the extracted boot jar in a fresh JVM per run and measures, from process start, the
+ * time until {@code /actuator/health} answers 200 and until the first {@code GET /users}
+ * succeeds. Each variant adds JVM options on top of the previous one. The variants do not
+ * run the same bean graph: {@code jit} evaluates {@code @Conditional} at startup, the AOT
+ * variants use the one {@code processAot} fixed at build time.
+ */
+public final class StartupBenchmark {
+
+  private static final Duration POLL_INTERVAL = Duration.ofMillis(5);
+  private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+  private StartupBenchmark() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    Path jar = Path.of(System.getProperty("load.jar")).toAbsolutePath();
+    Path aotCache = Path.of(System.getProperty("load.aotCache")).toAbsolutePath();
+    int runs = Integer.getInteger("load.runs", 5);
+    int port = Integer.getInteger("load.port", 18080);
+    List<String> appArgs = splitArgs(System.getProperty("load.appArgs", ""));
+    Path output = Path.of(System.getProperty("load.output", "build/load/startup.json"));
+    if (!Files.exists(aotCache)) {
+      throw new IllegalStateException("No AOT cache at " + aotCache + "; run aotCacheTraining");
+    }
+
+    List<Variant> variants = List.of(
+        new Variant("jit", "runtime-conditions", List.of()),
+        new Variant("spring-aot", "process-aot", List.of("-Dspring.aot.enabled=true")),
+        new Variant("spring-aot+aot-cache", "process-aot",
+            List.of("-Dspring.aot.enabled=true", "-XX:AOTCache=" + aotCache)));
+    System.out.println("jit evaluates conditions at startup; the spring-aot variants run the"
+        + " bean graph fixed by processAot");
+
+    HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+    Path logs = output.toAbsolutePath().getParent().resolve("startup-logs");
+    Files.createDirectories(logs);
+
+    StringBuilder json = new StringBuilder("[\n");
+    for (int v = 0; v < variants.size(); v++) {
+      Variant variant = variants.get(v);
+      long[] ready = new long[runs];
+      long[] firstRequest = new long[runs];
+      for (int run = 0; run < runs; run++) {
+        Path log = logs.resolve(variant.name().replace('+', '-') + "-" + run + ".log");
+        long[] timings = launch(client, jar, variant.jvmArgs(), appArgs, port, log);
+        ready[run] = timings[0];
+        firstRequest[run] = timings[1];
+        System.out.printf(Locale.ROOT, "%s #%d: ready %.0f ms, first GET /users %.0f ms%n",
+            variant.name(), run + 1, timings[0] / 1e6, timings[1] / 1e6);
+      }
+      json.append("  ").append(toJson(variant, ready, firstRequest))
+          .append(v + 1 < variants.size() ? ",\n" : "\n");
+    }
+    json.append("]\n");
+    Files.writeString(output, json);
+    System.out.print(json);
+  }
+
+  private static long[] launch(HttpClient client, Path jar, List<String> jvmArgs,
+      List<String> appArgs, int port, Path log) throws IOException, InterruptedException {
+    List<String> command = new ArrayList<>();
+    command.add(ProcessHandle.current().info().command().orElse("java"));
+    command.addAll(jvmArgs);
+    command.add("-cp");
+    command.add(jar.toString());
+    command.add("io.vacivor.restful.RestfulApplication");
+    command.add("--server.port=" + port);
+    command.addAll(appArgs);
+
+    long started = System.nanoTime();
+    Process process = new ProcessBuilder(command)
+        .redirectErrorStream(true)
+        .redirectOutput(log.toFile())
+        .start();
+    try {
+      String baseUrl = "http://localhost:" + port;
+      long ready = awaitOk(client, process, baseUrl + "/actuator/health", started);
+      long firstRequest = awaitOk(client, process, baseUrl + "/users?pageSize=1", started);
+      return new long[] {ready, firstRequest};
+    } finally {
+      process.destroy();
+      if (!process.waitFor(30, TimeUnit.SECONDS)) {
+        process.destroyForcibly().waitFor();
+      }
+    }
+  }
+
+  private static long awaitOk(HttpClient client, Process process, String url, long started)
+      throws InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+        .timeout(Duration.ofSeconds(10))
+        .GET()
+        .build();
+    long deadline = started + STARTUP_TIMEOUT.toNanos();
+    while (System.nanoTime() < deadline) {
+      if (!process.isAlive()) {
+        throw new IllegalStateException("Application exited with " + process.exitValue());
+      }
+      try {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 200) {
+          return System.nanoTime() - started;
+        }
+      } catch (IOException e) {
+        // not listening yet
+      }
+      Thread.sleep(POLL_INTERVAL);
+    }
+    throw new IllegalStateException(url + " did not answer 200 within " + STARTUP_TIMEOUT);
+  }
+
+  private static String toJson(Variant variant, long[] ready, long[] firstRequest) {
+    return String.format(Locale.ROOT,
+        "{\"name\":\"%s\",\"beanGraph\":\"%s\",\"runs\":%d,\"readyMedianMs\":%.1f,"
+            + "\"readyMinMs\":%.1f,\"firstRequestMedianMs\":%.1f,\"firstRequestMinMs\":%.1f}",
+        variant.name(), variant.beanGraph(), ready.length, median(ready) / 1e6,
+        Arrays.stream(ready).min().orElse(0) / 1e6, median(firstRequest) / 1e6,
+        Arrays.stream(firstRequest).min().orElse(0) / 1e6);
+  }
+
+  private static double median(long[] values) {
+    long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    int middle = sorted.length / 2;
+    return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2d;
+  }
+
+  private static List<String> splitArgs(String raw) {
+    return raw.isBlank() ? List.of() : List.of(raw.trim().split("\\s+"));
+  }
+
+  private record Variant(String name, String beanGraph, List<String> jvmArgs) {
+  }
+}
@@ -0,0 +1,36 @@
+package io.vacivor.restful.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Arrays;
+
+public final class VirtualThreadBenchmark {
+
+  private VirtualThreadBenchmark() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    String baseUrl = System.getProperty("load.baseUrl", "http://localhost:8080");
+    String label = System.getProperty("load.label", "server");
+    int[] levels = Arrays.stream(System.getProperty("load.concurrency", "1000,2500,5000,10000")
+            .split(","))
+        .map(String::trim)
+        .mapToInt(Integer::parseInt)
+        .toArray();
+    Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    Duration duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+
+    HttpLoadDriver driver = new HttpLoadDriver(HttpLoadDriver.newClient());
+    for (int concurrency : levels) {
+      HttpLoadDriver.Result result = driver.run(label + ":list+get", concurrency, warmup, duration,
+          random -> HttpRequest.newBuilder(URI.create(random.nextInt(4) == 0
+                  ? baseUrl + "/users?pageSize=20&orderBy=createdAt%20desc"
+                  : baseUrl + "/users/" + (1 + random.nextInt(1000))))
+              .timeout(Duration.ofSeconds(30))
+              .GET()
+              .build());
+      System.out.println(result.toJson());
+    }
+  }
+}
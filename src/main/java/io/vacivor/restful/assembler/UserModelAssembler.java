@@ -1,13 +1,25 @@
 package io.vacivor.restful.assembler;
 
+import io.vacivor.restful.controller.UserController;
 import io.vacivor.restful.domain.User;
+import io.vacivor.restful.domain.UserStatusEnum;
 import io.vacivor.restful.dto.UserResponse;
+import io.vacivor.restful.hateoas.LinkTemplate;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import java.time.OffsetDateTime;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
 @Component
 public class UserModelAssembler implements RepresentationModelAssembler<User, UserResponse> {
 
+  private static final LinkTemplate SELF = LinkTemplate.of(UserController.class, "get");
+  private static final LinkTemplate PATCH = LinkTemplate.of(UserController.class, "patch");
+  private static final LinkTemplate DELETE = LinkTemplate.of(UserController.class, "delete");
+  private static final LinkTemplate ENABLE = LinkTemplate.of(UserController.class, "enable");
+  private static final LinkTemplate DISABLE = LinkTemplate.of(UserController.class, "disable");
+
   @Override
   public UserResponse toModel(User user) {
     UserResponse dto = new UserResponse();
@@ -18,4 +30,32 @@ public class UserModelAssembler implements RepresentationModelAssembler<User, Us
     dto.setCreatedAt(user.getCreatedAt());
     return dto;
   }
+
+  public UserResponse toModel(Tuple tuple) {
+    UserResponse dto = new UserResponse();
+    for (TupleElement<?> element : tuple.getElements()) {
+      Object value = tuple.get(element);
+      switch (element.getAlias()) {
+        case "id" -> dto.setId((Long) value);
+        case "username" -> dto.setUsername((String) value);
+        case "email" -> dto.setEmail((String) value);
+        case "status" -> dto.setStatus(value == null ? null : ((UserStatusEnum) value).getCode());
+        case "createdAt" -> dto.setCreatedAt((OffsetDateTime) value);
+        default -> {
+        }
+      }
+    }
+    return dto;
+  }
+
+  public UserResponse addMethodLinks(UserResponse dto) {
+    String baseUri = LinkTemplate.currentBaseUri();
+    Long id = dto.getId();
+    dto.add(SELF.toLink(baseUri, id, "self"));
+    dto.add(PATCH.toLink(baseUri, id, "patch"));
+    dto.add(DELETE.toLink(baseUri, id, "delete"));
+    dto.add(ENABLE.toLink(baseUri, id, "enable"));
+    dto.add(DISABLE.toLink(baseUri, id, "disable"));
+    return dto;
+  }
 }
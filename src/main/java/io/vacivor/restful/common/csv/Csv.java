@@ -0,0 +1,91 @@
+package io.vacivor.restful.common.csv;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class Csv {
+
+  private Csv() {
+  }
+
+  public static void writeCell(Appendable out, String value) throws IOException {
+    boolean quote = false;
+    for (int i = 0; i < value.length() && !quote; i++) {
+      char c = value.charAt(i);
+      quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    if (!quote) {
+      out.append(value);
+      return;
+    }
+    out.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"') {
+        out.append('"');
+      }
+      out.append(c);
+    }
+    out.append('"');
+  }
+
+  public static String readRecord(BufferedReader reader) throws IOException {
+    String line = reader.readLine();
+    if (line == null) {
+      return null;
+    }
+    boolean quoted = toggles(line, false);
+    if (!quoted) {
+      return line;
+    }
+    StringBuilder record = new StringBuilder(line);
+    while (quoted && (line = reader.readLine()) != null) {
+      record.append('\n').append(line);
+      quoted = toggles(line, quoted);
+    }
+    return record.toString();
+  }
+
+  private static boolean toggles(String line, boolean quoted) {
+    for (int i = 0; i < line.length(); i++) {
+      if (line.charAt(i) == '"') {
+        quoted = !quoted;
+      }
+    }
+    return quoted;
+  }
+
+  public static List<String> parseLine(String line) {
+    List<String> cells = new ArrayList<>();
+    StringBuilder cell = new StringBuilder();
+    boolean quoted = false;
+    int i = 0;
+    while (i < line.length()) {
+      char c = line.charAt(i++);
+      if (quoted) {
+        if (c != '"') {
+          cell.append(c);
+        } else if (i < line.length() && line.charAt(i) == '"') {
+          cell.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == '"' && cell.isEmpty()) {
+        quoted = true;
+      } else if (c == ',') {
+        cells.add(cell.toString());
+        cell.setLength(0);
+      } else {
+        cell.append(c);
+      }
+    }
+    if (quoted) {
+      throw new IllegalArgumentException("Unterminated quoted cell");
+    }
+    cells.add(cell.toString());
+    return cells;
+  }
+}
@@ -0,0 +1,8 @@
+package io.vacivor.restful.common.exception;
+
+public class ConflictException extends RuntimeException {
+
+  public ConflictException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package io.vacivor.restful.common.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+  public PreconditionFailedException(String message) {
+    super(message);
+  }
+}
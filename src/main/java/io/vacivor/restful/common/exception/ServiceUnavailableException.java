@@ -0,0 +1,8 @@
+package io.vacivor.restful.common.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+  public ServiceUnavailableException(String message) {
+    super(message);
+  }
+}
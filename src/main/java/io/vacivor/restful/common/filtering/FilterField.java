@@ -0,0 +1,45 @@
+package io.vacivor.restful.common.filtering;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+
+public record FilterField(String name, Kind kind, Function<String, ?> converter) {
+
+  public static FilterField equality(String name, Function<String, ?> converter) {
+    return new FilterField(name, Kind.EQUALITY, converter);
+  }
+
+  public static FilterField prefix(String name) {
+    return new FilterField(name, Kind.PREFIX, Function.identity());
+  }
+
+  public static FilterField range(String name, Function<String, ?> converter) {
+    return new FilterField(name, Kind.RANGE, converter);
+  }
+
+  Object convert(String value) {
+    try {
+      return converter.apply(value);
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid filter value for " + name + ": " + value);
+    }
+  }
+
+  public enum Kind {
+    EQUALITY(EnumSet.of(FilterOperator.EQ)),
+    PREFIX(EnumSet.of(FilterOperator.EQ, FilterOperator.SW)),
+    RANGE(EnumSet.of(FilterOperator.EQ, FilterOperator.GT, FilterOperator.GE,
+        FilterOperator.LT, FilterOperator.LE));
+
+    private final Set<FilterOperator> operators;
+
+    Kind(Set<FilterOperator> operators) {
+      this.operators = operators;
+    }
+
+    public boolean supports(FilterOperator operator) {
+      return operators.contains(operator);
+    }
+  }
+}
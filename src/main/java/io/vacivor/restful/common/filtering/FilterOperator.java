@@ -0,0 +1,25 @@
+package io.vacivor.restful.common.filtering;
+
+import java.util.Locale;
+
+public enum FilterOperator {
+  EQ,
+  SW,
+  GT,
+  GE,
+  LT,
+  LE;
+
+  public String token() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+
+  public static FilterOperator fromToken(String token) {
+    for (FilterOperator operator : values()) {
+      if (operator.token().equalsIgnoreCase(token)) {
+        return operator;
+      }
+    }
+    throw new IllegalArgumentException("Unknown filter operator: " + token);
+  }
+}
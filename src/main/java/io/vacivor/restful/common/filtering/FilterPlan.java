@@ -0,0 +1,175 @@
+package io.vacivor.restful.common.filtering;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Compiles {@code field:operator:value} criteria separated by {@code ;} into a conjunctive
+ * {@link Specification}. Only allowlisted fields and the operators their {@link FilterField.Kind}
+ * can serve from an index are accepted; anything else is rejected instead of being ignored.
+ */
+public final class FilterPlan<T> {
+
+  private static final int DEFAULT_CACHE_SIZE = 256;
+  private static final int DEFAULT_MAX_CRITERIA = 8;
+  private static final Pattern ITEM_PATTERN = Pattern.compile(";");
+  private static final char LIKE_ESCAPE = '\\';
+
+  private final Map<String, FilterField> allowedFields;
+  private final int maxCriteria;
+  private final Filter<T> empty = new Filter<>(List.of(), null);
+  private final Map<String, Filter<T>> cache;
+
+  private FilterPlan(Collection<FilterField> fields, int maxCriteria, int cacheSize) {
+    if (fields == null) {
+      throw new IllegalArgumentException("Allowed fields must be provided");
+    }
+    if (maxCriteria < 1) {
+      throw new IllegalArgumentException("maxCriteria must be >= 1");
+    }
+    if (cacheSize < 1) {
+      throw new IllegalArgumentException("cacheSize must be >= 1");
+    }
+    Map<String, FilterField> allowed = new HashMap<>();
+    for (FilterField field : fields) {
+      allowed.put(field.name().toLowerCase(Locale.ROOT), field);
+    }
+    this.allowedFields = Map.copyOf(allowed);
+    this.maxCriteria = maxCriteria;
+    this.cache = new LinkedHashMap<>(cacheSize * 4 / 3 + 1, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Filter<T>> eldest) {
+        return size() > cacheSize;
+      }
+    };
+  }
+
+  public static <T> FilterPlan<T> compile(Collection<FilterField> fields) {
+    return new FilterPlan<>(fields, DEFAULT_MAX_CRITERIA, DEFAULT_CACHE_SIZE);
+  }
+
+  public static <T> FilterPlan<T> compile(
+      Collection<FilterField> fields, int maxCriteria, int cacheSize) {
+    return new FilterPlan<>(fields, maxCriteria, cacheSize);
+  }
+
+  public Filter<T> parse(String raw) {
+    if (raw == null || raw.isBlank()) {
+      return empty;
+    }
+    Filter<T> filter;
+    synchronized (cache) {
+      filter = cache.get(raw);
+    }
+    if (filter != null) {
+      return filter;
+    }
+    filter = doParse(raw);
+    synchronized (cache) {
+      cache.putIfAbsent(raw, filter);
+    }
+    return filter;
+  }
+
+  private Filter<T> doParse(String raw) {
+    List<Criterion> criteria = new ArrayList<>();
+    for (String item : ITEM_PATTERN.split(raw)) {
+      String trimmed = item.trim();
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+      String[] tokens = trimmed.split(":", 3);
+      if (tokens.length != 3) {
+        throw new IllegalArgumentException("filter items must be field:operator:value");
+      }
+      FilterField field = allowedFields.get(tokens[0].trim().toLowerCase(Locale.ROOT));
+      if (field == null) {
+        throw new IllegalArgumentException("Filtering on " + tokens[0].trim() + " is not supported");
+      }
+      FilterOperator operator = FilterOperator.fromToken(tokens[1].trim());
+      if (!field.kind().supports(operator)) {
+        throw new IllegalArgumentException(
+            operator.token() + " is not supported on " + field.name());
+      }
+      String value = tokens[2].trim();
+      if (value.isEmpty()) {
+        throw new IllegalArgumentException("filter value for " + field.name() + " is empty");
+      }
+      criteria.add(new Criterion(field.name(), operator, field.convert(value)));
+    }
+    if (criteria.size() > maxCriteria) {
+      throw new IllegalArgumentException("At most " + maxCriteria + " filter items are allowed");
+    }
+    if (criteria.isEmpty()) {
+      return empty;
+    }
+    List<Criterion> compiled = List.copyOf(criteria);
+    return new Filter<>(compiled, toSpecification(compiled));
+  }
+
+  private static <T> Specification<T> toSpecification(List<Criterion> criteria) {
+    return (root, query, cb) -> {
+      Predicate[] predicates = new Predicate[criteria.size()];
+      for (int i = 0; i < predicates.length; i++) {
+        predicates[i] = criteria.get(i).toPredicate(root, cb);
+      }
+      return cb.and(predicates);
+    };
+  }
+
+  private static String escapeLike(String value) {
+    StringBuilder escaped = new StringBuilder(value.length() + 1);
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+        escaped.append(LIKE_ESCAPE);
+      }
+      escaped.append(c);
+    }
+    return escaped.append('%').toString();
+  }
+
+  public record Criterion(String field, FilterOperator operator, Object value) {
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Predicate toPredicate(Root<?> root, CriteriaBuilder cb) {
+      Path path = root.get(field);
+      return switch (operator) {
+        case EQ -> cb.equal(path, value);
+        case SW -> cb.like(path, escapeLike((String) value), LIKE_ESCAPE);
+        case GT -> cb.greaterThan(path, (Comparable) value);
+        case GE -> cb.greaterThanOrEqualTo(path, (Comparable) value);
+        case LT -> cb.lessThan(path, (Comparable) value);
+        case LE -> cb.lessThanOrEqualTo(path, (Comparable) value);
+      };
+    }
+  }
+
+  public record Filter<T>(List<Criterion> criteria, Specification<T> specification) {
+
+    public boolean isEmpty() {
+      return criteria.isEmpty();
+    }
+
+    public String fingerprint() {
+      StringJoiner joiner = new StringJoiner(";");
+      for (Criterion criterion : criteria) {
+        joiner.add(criterion.field() + ":" + criterion.operator().token() + ":"
+            + criterion.value());
+      }
+      return joiner.toString();
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package io.vacivor.restful.common.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+public class AccountingDataSource extends DelegatingDataSource {
+
+  public AccountingDataSource(DataSource targetDataSource) {
+    super(targetDataSource);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return proxy(Connection.class, obtainTargetDataSource().getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return proxy(Connection.class, obtainTargetDataSource().getConnection(username, password));
+  }
+
+  private static <T> T proxy(Class<T> type, T target) {
+    Class<?> statementType = target instanceof CallableStatement ? CallableStatement.class
+        : target instanceof PreparedStatement ? PreparedStatement.class
+        : target instanceof Statement ? Statement.class
+        : type;
+    return type.cast(Proxy.newProxyInstance(AccountingDataSource.class.getClassLoader(),
+        new Class<?>[] {statementType}, new Accounting(target)));
+  }
+
+  private record Accounting(Object target) implements InvocationHandler {
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      if ("unwrap".equals(name) || "isWrapperFor".equals(name)) {
+        Class<?> requested = (Class<?>) args[0];
+        if (requested.isInstance(target)) {
+          return "unwrap".equals(name) ? target : true;
+        }
+      }
+      SqlAccounting accounting = SqlAccounting.current();
+      boolean execute = target instanceof Statement && name.startsWith("execute");
+      boolean next = target instanceof ResultSet && "next".equals(name);
+      long started = accounting != null && (execute || next) ? System.nanoTime() : 0;
+      Object result;
+      try {
+        result = method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getTargetException();
+      }
+      if (started != 0) {
+        long elapsed = System.nanoTime() - started;
+        if (execute) {
+          accounting.statement(elapsed);
+        } else {
+          accounting.fetch(Boolean.TRUE.equals(result), elapsed);
+        }
+      }
+      if (result instanceof Statement statement && !(result instanceof Proxy)) {
+        return proxy(Statement.class, statement);
+      }
+      if (result instanceof ResultSet resultSet && !(result instanceof Proxy)) {
+        return proxy(ResultSet.class, resultSet);
+      }
+      return result;
+    }
+  }
+}
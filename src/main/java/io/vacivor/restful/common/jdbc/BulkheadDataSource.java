@@ -0,0 +1,100 @@
+package io.vacivor.restful.common.jdbc;
+
+import io.vacivor.restful.common.exception.ServiceUnavailableException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Holds one permit per open connection, from {@code getConnection} until {@code close}, so the
+ * cap covers transactions, streams and direct JDBC use alike. Callers wait at most the acquire
+ * timeout and then fail fast instead of queueing inside the pool.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+  private final Semaphore permits;
+  private final long timeoutNanos;
+
+  public BulkheadDataSource(DataSource targetDataSource, int maxConcurrent,
+      Duration acquireTimeout) {
+    super(targetDataSource);
+    this.permits = new Semaphore(maxConcurrent, true);
+    this.timeoutNanos = acquireTimeout.toNanos();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    try {
+      return guard(obtainTargetDataSource().getConnection());
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    try {
+      return guard(obtainTargetDataSource().getConnection(username, password));
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  public int availablePermits() {
+    return permits.availablePermits();
+  }
+
+  public int queueLength() {
+    return permits.getQueueLength();
+  }
+
+  private void acquire() throws SQLException {
+    boolean acquired;
+    try {
+      acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a connection permit", e);
+    }
+    if (!acquired) {
+      throw new ServiceUnavailableException("Database is busy, retry later");
+    }
+  }
+
+  private Connection guard(Connection target) {
+    AtomicBoolean released = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(BulkheadDataSource.class.getClassLoader(),
+        new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "equals" -> {
+              return proxy == args[0];
+            }
+            case "hashCode" -> {
+              return System.identityHashCode(proxy);
+            }
+            default -> {
+            }
+          }
+          try {
+            return method.invoke(target, args);
+          } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+          } finally {
+            if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+              permits.release();
+            }
+          }
+        });
+  }
+}
@@ -0,0 +1,44 @@
+package io.vacivor.restful.common.jdbc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Sends read-only transactions to {@link ReplicaRoutingDataSource} and everything else to the
+ * primary. The physical connection is only fetched once the transaction's read-only flag is
+ * known. Owns the primary and replica pools and closes them with the context.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy
+    implements AutoCloseable {
+
+  private final DataSource primary;
+  private final ReplicaLagMonitor lagMonitor;
+
+  public ReadWriteRoutingDataSource(
+      DataSource primary, ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+    super(primary);
+    this.primary = primary;
+    this.lagMonitor = lagMonitor;
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    for (String replica : lagMonitor.replicas()) {
+      replicas.put(replica, lagMonitor.dataSource(replica));
+    }
+    setReadOnlyDataSource(
+        new ReplicaRoutingDataSource(primary, replicas, lagMonitor, meterRegistry));
+  }
+
+  @Override
+  public void close() throws Exception {
+    lagMonitor.close();
+    closePool(primary);
+  }
+
+  static void closePool(DataSource dataSource) throws Exception {
+    if (dataSource.isWrapperFor(AutoCloseable.class)) {
+      dataSource.unwrap(AutoCloseable.class).close();
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package io.vacivor.restful.common.jdbc;
+
+import java.util.function.Supplier;
+
+public final class ReadYourWrites {
+
+  private static final ThreadLocal<ReadYourWrites> CURRENT = new ThreadLocal<>();
+
+  private final Runnable onFirstWrite;
+  private boolean pinned;
+  private boolean written;
+
+  private ReadYourWrites(boolean pinned, Runnable onFirstWrite) {
+    this.pinned = pinned;
+    this.onFirstWrite = onFirstWrite;
+  }
+
+  public static ReadYourWrites begin(boolean pinned, Runnable onFirstWrite) {
+    ReadYourWrites scope = new ReadYourWrites(pinned, onFirstWrite);
+    CURRENT.set(scope);
+    return scope;
+  }
+
+  public static void end() {
+    CURRENT.remove();
+  }
+
+  public static boolean isPinned() {
+    ReadYourWrites scope = CURRENT.get();
+    return scope != null && scope.pinned;
+  }
+
+  /** Routes the rest of the current request to the primary, e.g. before a read-modify-write. */
+  public static void pinToPrimary() {
+    ReadYourWrites scope = CURRENT.get();
+    if (scope != null) {
+      scope.pinned = true;
+    }
+  }
+
+  /**
+   * Runs {@code action} against the primary and restores the previous routing afterwards, also
+   * on threads without a request scope.
+   */
+  public static <T> T onPrimary(Supplier<T> action) {
+    ReadYourWrites scope = CURRENT.get();
+    if (scope == null) {
+      begin(true, null);
+      try {
+        return action.get();
+      } finally {
+        end();
+      }
+    }
+    boolean pinned = scope.pinned;
+    scope.pinned = true;
+    try {
+      return action.get();
+    } finally {
+      scope.pinned = pinned || scope.written;
+    }
+  }
+
+  public static void recordWrite() {
+    ReadYourWrites scope = CURRENT.get();
+    if (scope == null || scope.written) {
+      return;
+    }
+    scope.written = true;
+    scope.pinned = true;
+    if (scope.onFirstWrite != null) {
+      scope.onFirstWrite.run();
+    }
+  }
+}
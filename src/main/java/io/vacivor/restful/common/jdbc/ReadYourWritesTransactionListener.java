@@ -0,0 +1,14 @@
+package io.vacivor.restful.common.jdbc;
+
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+public class ReadYourWritesTransactionListener implements TransactionExecutionListener {
+
+  @Override
+  public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+    if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+      ReadYourWrites.recordWrite();
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package io.vacivor.restful.common.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ReplicaLagMonitor implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+  private static final String LAG_QUERY = """
+      select case
+        when not pg_is_in_recovery() then 0
+        when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+        else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+      end
+      """;
+
+  private final Map<String, DataSource> replicas;
+  private final double maxLagSeconds;
+  private final Duration interval;
+  private final Map<String, Double> lagSeconds = new ConcurrentHashMap<>();
+  private ScheduledExecutorService scheduler;
+
+  public ReplicaLagMonitor(Map<String, DataSource> replicas, Duration maxLag, Duration interval) {
+    this.replicas = Map.copyOf(replicas);
+    this.maxLagSeconds = maxLag.toNanos() / 1e9;
+    this.interval = interval;
+    for (String replica : replicas.keySet()) {
+      lagSeconds.put(replica, Double.NaN);
+    }
+  }
+
+  public synchronized void start() {
+    if (scheduler != null) {
+      return;
+    }
+    scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("replica-lag-monitor").daemon().factory());
+    scheduler.scheduleWithFixedDelay(
+        this::refresh, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  public Set<String> replicas() {
+    return replicas.keySet();
+  }
+
+  public DataSource dataSource(String replica) {
+    return replicas.get(replica);
+  }
+
+  public boolean isAvailable(String replica) {
+    return lagSeconds.getOrDefault(replica, Double.NaN) <= maxLagSeconds;
+  }
+
+  public double lagSeconds(String replica) {
+    return lagSeconds.getOrDefault(replica, Double.NaN);
+  }
+
+  void update(String replica, double lag) {
+    boolean wasAvailable = isAvailable(replica);
+    lagSeconds.put(replica, lag);
+    boolean available = isAvailable(replica);
+    if (wasAvailable && !available) {
+      log.warn("Replica {} removed from read routing (lag {} s, max {} s)",
+          replica, Double.isNaN(lag) ? "unknown" : lag, maxLagSeconds);
+    } else if (!wasAvailable && available) {
+      log.info("Replica {} available for reads (lag {} s)", replica, lag);
+    }
+  }
+
+  private void refresh() {
+    for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+      update(replica.getKey(), measure(replica.getKey(), replica.getValue()));
+    }
+  }
+
+  private double measure(String name, DataSource dataSource) {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet result = statement.executeQuery(LAG_QUERY)) {
+      return result.next() ? result.getDouble(1) : Double.NaN;
+    } catch (SQLException | RuntimeException e) {
+      log.debug("Cannot measure the lag of replica {}", name, e);
+      return Double.NaN;
+    }
+  }
+
+  @Override
+  public synchronized void close() throws Exception {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+    for (DataSource dataSource : replicas.values()) {
+      ReadWriteRoutingDataSource.closePool(dataSource);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package io.vacivor.restful.common.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Read-only side of the routing: picks an available replica round-robin, and falls back to the
+ * primary when the current request has written (or carries a recent-write marker) or when every
+ * replica lags behind.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  public static final String PRIMARY = "primary";
+
+  private final List<String> replicas;
+  private final ReplicaLagMonitor lagMonitor;
+  private final AtomicInteger next = new AtomicInteger();
+  private final Map<String, Counter> routes = new HashMap<>();
+
+  public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+      ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+    this.replicas = List.copyOf(replicas.keySet());
+    this.lagMonitor = lagMonitor;
+    Map<Object, Object> targets = new HashMap<>(replicas);
+    targets.put(PRIMARY, primary);
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    setLenientFallback(false);
+    afterPropertiesSet();
+    if (meterRegistry != null) {
+      for (Object route : targets.keySet()) {
+        routes.put((String) route, Counter.builder("restful.datasource.route")
+            .tag("route", (String) route)
+            .register(meterRegistry));
+      }
+    }
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    String route = route();
+    Counter counter = routes.get(route);
+    if (counter != null) {
+      counter.increment();
+    }
+    return route;
+  }
+
+  String route() {
+    if (ReadYourWrites.isPinned() || replicas.isEmpty()) {
+      return PRIMARY;
+    }
+    int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+    for (int i = 0; i < replicas.size(); i++) {
+      String replica = replicas.get((start + i) % replicas.size());
+      if (lagMonitor.isAvailable(replica)) {
+        return replica;
+      }
+    }
+    return PRIMARY;
+  }
+}
@@ -0,0 +1,48 @@
+package io.vacivor.restful.common.jdbc;
+
+public final class SqlAccounting {
+
+  private static final ThreadLocal<SqlAccounting> CURRENT = new ThreadLocal<>();
+
+  private int statements;
+  private long rows;
+  private long nanos;
+
+  public static SqlAccounting begin() {
+    SqlAccounting accounting = new SqlAccounting();
+    CURRENT.set(accounting);
+    return accounting;
+  }
+
+  public static void end() {
+    CURRENT.remove();
+  }
+
+  static SqlAccounting current() {
+    return CURRENT.get();
+  }
+
+  void statement(long elapsedNanos) {
+    statements++;
+    nanos += elapsedNanos;
+  }
+
+  void fetch(boolean hasRow, long elapsedNanos) {
+    if (hasRow) {
+      rows++;
+    }
+    nanos += elapsedNanos;
+  }
+
+  public int getStatements() {
+    return statements;
+  }
+
+  public long getRows() {
+    return rows;
+  }
+
+  public long getNanos() {
+    return nanos;
+  }
+}
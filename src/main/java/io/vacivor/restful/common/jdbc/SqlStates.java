@@ -0,0 +1,44 @@
+package io.vacivor.restful.common.jdbc;
+
+import java.sql.SQLException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.dao.DuplicateKeyException;
+
+public final class SqlStates {
+
+  public static final String UNIQUE_VIOLATION = "23505";
+
+  private SqlStates() {
+  }
+
+  public static boolean isUniqueViolation(Throwable ex) {
+    for (Throwable t = ex; t != null; t = t.getCause() == t ? null : t.getCause()) {
+      if (t instanceof DuplicateKeyException) {
+        return true;
+      }
+      if (t instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** The name of the violated constraint or unique index, or {@code null} if unknown. */
+  public static String constraintName(Throwable ex) {
+    for (Throwable t = ex; t != null; t = t.getCause() == t ? null : t.getCause()) {
+      if (t instanceof ConstraintViolationException violation
+          && violation.getConstraintName() != null) {
+        return violation.getConstraintName();
+      }
+      if (t instanceof PSQLException psql) {
+        ServerErrorMessage message = psql.getServerErrorMessage();
+        if (message != null && message.getConstraint() != null) {
+          return message.getConstraint();
+        }
+      }
+    }
+    return null;
+  }
+}
@@ -1,14 +1,24 @@
 package io.vacivor.restful.common.ordering;
 
+import java.util.regex.Pattern;
+
 public final class OrderingDelimiters {
 
+    private static final OrderingDelimiters DEFAULT = new OrderingDelimiters(";", ",");
+
     private final String itemDelimiter;
 
     private final String fieldDelimiterRegex;
 
+    private final Pattern itemPattern;
+
+    private final Pattern fieldPattern;
+
     private OrderingDelimiters(String itemDelimiter, String fieldDelimiterRegex) {
         this.itemDelimiter = itemDelimiter;
         this.fieldDelimiterRegex = fieldDelimiterRegex;
+        this.itemPattern = Pattern.compile(itemDelimiter);
+        this.fieldPattern = Pattern.compile(fieldDelimiterRegex);
     }
 
     public String itemDelimiter() {
@@ -19,8 +29,16 @@ public final class OrderingDelimiters {
         return fieldDelimiterRegex;
     }
 
+    public Pattern itemPattern() {
+        return itemPattern;
+    }
+
+    public Pattern fieldPattern() {
+        return fieldPattern;
+    }
+
     public static OrderingDelimiters defaultDelimiters() {
-        return new OrderingDelimiters(";", ",");
+        return DEFAULT;
     }
 
     public static OrderingDelimiters of(String itemDelimiter, String fieldDelimiterRegex) {
@@ -107,7 +107,7 @@ public class OrderingParameters<S, O> {
       if (allowedProperties == null) {
         throw new IllegalStateException("Allowed properties must be configured before parsing");
       }
-      String[] items = raw.split(delimiters.itemDelimiter());
+      String[] items = delimiters.itemPattern().split(raw);
 
       for (String item : items) {
         String trimmed = item.trim();
@@ -115,7 +115,7 @@ public class OrderingParameters<S, O> {
           continue;
         }
 
-        String[] tokens = trimmed.split(delimiters.fieldDelimiterRegex());
+        String[] tokens = delimiters.fieldPattern().split(trimmed);
         String property = tokens[0].trim();
         String propertyKey = property.toLowerCase(Locale.ROOT);
 
@@ -0,0 +1,139 @@
+package io.vacivor.restful.common.ordering;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public final class OrderingPlan<S, O> {
+
+  private static final int DEFAULT_CACHE_SIZE = 256;
+
+  private final OrderingAdapter<S, O> adapter;
+  private final OrderingDelimiters delimiters;
+  private final Map<String, String> allowedProperties;
+  private final Set<String> properties;
+  private final Ordering<S, O> empty;
+  private final Map<String, Ordering<S, O>> cache;
+
+  private OrderingPlan(
+      OrderingAdapter<S, O> adapter,
+      Collection<String> fields,
+      OrderingDelimiters delimiters,
+      int cacheSize) {
+    if (adapter == null) {
+      throw new IllegalArgumentException("Ordering adapter must be provided");
+    }
+    if (fields == null) {
+      throw new IllegalArgumentException("Allowed properties must be provided");
+    }
+    if (cacheSize < 1) {
+      throw new IllegalArgumentException("cacheSize must be >= 1");
+    }
+    this.adapter = adapter;
+    this.delimiters = delimiters == null ? OrderingDelimiters.defaultDelimiters() : delimiters;
+    Map<String, String> allowed = new HashMap<>();
+    Set<String> canonical = new LinkedHashSet<>();
+    for (String field : fields) {
+      if (field != null) {
+        allowed.put(field.toLowerCase(Locale.ROOT), field);
+        canonical.add(field);
+      }
+    }
+    this.allowedProperties = Map.copyOf(allowed);
+    this.properties = Set.copyOf(canonical);
+    this.empty = new Ordering<>(List.of(), adapter.buildSort(List.of()));
+    this.cache = new LinkedHashMap<>(cacheSize * 4 / 3 + 1, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Ordering<S, O>> eldest) {
+        return size() > cacheSize;
+      }
+    };
+  }
+
+  public static <S, O> OrderingPlan<S, O> compile(
+      OrderingAdapter<S, O> adapter, Collection<String> fields) {
+    return new OrderingPlan<>(adapter, fields, OrderingDelimiters.defaultDelimiters(),
+        DEFAULT_CACHE_SIZE);
+  }
+
+  public static <S, O> OrderingPlan<S, O> compile(
+      OrderingAdapter<S, O> adapter,
+      Collection<String> fields,
+      OrderingDelimiters delimiters,
+      int cacheSize) {
+    return new OrderingPlan<>(adapter, fields, delimiters, cacheSize);
+  }
+
+  public Ordering<S, O> parse(String raw) {
+    if (raw == null || raw.isBlank()) {
+      return empty;
+    }
+    Ordering<S, O> ordering;
+    synchronized (cache) {
+      ordering = cache.get(raw);
+    }
+    if (ordering != null) {
+      return ordering;
+    }
+    ordering = doParse(raw);
+    synchronized (cache) {
+      cache.putIfAbsent(raw, ordering);
+    }
+    return ordering;
+  }
+
+  public S getSort(String raw) {
+    return parse(raw).sort();
+  }
+
+  public Set<String> getAllowedProperties() {
+    return properties;
+  }
+
+  public OrderingAdapter<S, O> getAdapter() {
+    return adapter;
+  }
+
+  private Ordering<S, O> doParse(String raw) {
+    List<O> result = new ArrayList<>();
+    Set<String> seen = new HashSet<>();
+    for (String item : delimiters.itemPattern().split(raw)) {
+      String trimmed = item.trim();
+      if (trimmed.isBlank()) {
+        continue;
+      }
+
+      String[] tokens = delimiters.fieldPattern().split(trimmed);
+      String propertyKey = tokens[0].trim().toLowerCase(Locale.ROOT);
+      String property = allowedProperties.get(propertyKey);
+      if (property == null) {
+        continue;
+      }
+
+      String direction = tokens.length > 1 ? tokens[1] : null;
+      O order = adapter.parseOne(property, direction);
+      if (order != null && seen.add(propertyKey)) {
+        result.add(order);
+      }
+    }
+    if (result.isEmpty()) {
+      return empty;
+    }
+    List<O> orders = List.copyOf(result);
+    return new Ordering<>(orders, adapter.buildSort(orders));
+  }
+
+  public record Ordering<S, O>(List<O> orders, S sort) {
+
+    public boolean isEmpty() {
+      return orders.isEmpty();
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package io.vacivor.restful.common.pagination;
+
+import java.util.List;
+
+public record Cursor(Direction direction, String ordering, List<Object> keys) {
+
+  public enum Direction {
+    NEXT,
+    PREV
+  }
+}
@@ -0,0 +1,67 @@
+package io.vacivor.restful.common.pagination;
+
+import io.vacivor.restful.common.exception.BadRequestException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+public final class CursorCodec {
+
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final ObjectMapper objectMapper;
+  private final SecretKeySpec key;
+
+  public CursorCodec(ObjectMapper objectMapper, byte[] secret) {
+    if (secret == null || secret.length == 0) {
+      throw new IllegalArgumentException("Cursor secret must be provided");
+    }
+    this.objectMapper = objectMapper;
+    this.key = new SecretKeySpec(secret, ALGORITHM);
+  }
+
+  public String encode(Cursor cursor) {
+    byte[] payload = objectMapper.writeValueAsBytes(cursor);
+    return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+  }
+
+  public Cursor decode(String token) {
+    if (token == null || token.isBlank()) {
+      throw new BadRequestException("Invalid cursor");
+    }
+    int dot = token.indexOf('.');
+    if (dot <= 0 || dot == token.length() - 1) {
+      throw new BadRequestException("Invalid cursor");
+    }
+    try {
+      byte[] payload = DECODER.decode(token.substring(0, dot));
+      byte[] signature = DECODER.decode(token.substring(dot + 1));
+      if (!MessageDigest.isEqual(sign(payload), signature)) {
+        throw new BadRequestException("Invalid cursor");
+      }
+      Cursor cursor = objectMapper.readValue(payload, Cursor.class);
+      if (cursor.direction() == null || cursor.ordering() == null || cursor.keys() == null) {
+        throw new BadRequestException("Invalid cursor");
+      }
+      return cursor;
+    } catch (IllegalArgumentException | JacksonException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+
+  private byte[] sign(byte[] payload) {
+    try {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(key);
+      return mac.doFinal(payload);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to sign cursor", e);
+    }
+  }
+}
@@ -0,0 +1,6 @@
+package io.vacivor.restful.common.pagination;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPaginationInfo(int size, String next, String prev) {}
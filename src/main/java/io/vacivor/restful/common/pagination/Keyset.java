@@ -0,0 +1,82 @@
+package io.vacivor.restful.common.pagination;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import tools.jackson.databind.ObjectMapper;
+
+public final class Keyset {
+
+  private Keyset() {
+  }
+
+  public static Sort withTiebreaker(Sort sort, String idProperty) {
+    if (sort.getOrderFor(idProperty) != null) {
+      return sort;
+    }
+    return sort.and(Sort.by(Sort.Order.asc(idProperty)));
+  }
+
+  public static Sort reverse(Sort sort) {
+    List<Sort.Order> orders = new ArrayList<>();
+    for (Sort.Order order : sort) {
+      orders.add(order.with(order.isAscending() ? Sort.Direction.DESC : Sort.Direction.ASC));
+    }
+    return Sort.by(orders);
+  }
+
+  public static String fingerprint(Sort sort) {
+    StringJoiner joiner = new StringJoiner(",");
+    for (Sort.Order order : sort) {
+      joiner.add(order.getProperty() + ":" + order.getDirection().name());
+    }
+    return joiner.toString();
+  }
+
+  public static List<Object> keysOf(Sort sort, Function<String, Object> accessor) {
+    List<Object> keys = new ArrayList<>();
+    for (Sort.Order order : sort) {
+      keys.add(accessor.apply(order.getProperty()));
+    }
+    return keys;
+  }
+
+  /**
+   * Builds the row-value comparison {@code (a, b, id) > (:a, :b, :id)} expanded into
+   * {@code a > :a OR (a = :a AND b > :b) OR (a = :a AND b = :b AND id > :id)}, honouring the
+   * direction of each order so that mixed ASC/DESC orderings still seek correctly.
+   */
+  public static <T> Specification<T> after(Sort sort, List<Object> keys, ObjectMapper objectMapper) {
+    List<Sort.Order> orders = sort.toList();
+    if (orders.size() != keys.size()) {
+      throw new IllegalArgumentException("Keyset keys do not match the sort");
+    }
+    return (root, query, cb) -> {
+      List<Predicate> alternatives = new ArrayList<>();
+      List<Predicate> equalities = new ArrayList<>();
+      for (int i = 0; i < orders.size(); i++) {
+        Sort.Order order = orders.get(i);
+        Path<Object> path = root.get(order.getProperty());
+        Object value = objectMapper.convertValue(keys.get(i), path.getJavaType());
+        List<Predicate> alternative = new ArrayList<>(equalities);
+        alternative.add(compare(cb, path, value, order.isAscending()));
+        alternatives.add(cb.and(alternative.toArray(Predicate[]::new)));
+        equalities.add(cb.equal(path, value));
+      }
+      return cb.or(alternatives.toArray(Predicate[]::new));
+    };
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Predicate compare(
+      CriteriaBuilder cb, Path path, Object value, boolean ascending) {
+    Comparable comparable = (Comparable) value;
+    return ascending ? cb.greaterThan(path, comparable) : cb.lessThan(path, comparable);
+  }
+}
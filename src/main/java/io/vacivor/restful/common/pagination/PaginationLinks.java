@@ -0,0 +1,61 @@
+package io.vacivor.restful.common.pagination;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponents;
+
+public final class PaginationLinks {
+
+  private final String prefix;
+  private final List<Link> links = new ArrayList<>(5);
+
+  private PaginationLinks(String prefix) {
+    this.prefix = prefix;
+  }
+
+  public static PaginationLinks from(HttpServletRequest request) {
+    UriComponents components = ServletUriComponentsBuilder.fromRequest(request)
+        .replaceQueryParam("page")
+        .replaceQueryParam("pageSize")
+        .replaceQueryParam("cursor")
+        .build();
+    String uri = components.toUriString();
+    return new PaginationLinks(uri + (components.getQuery() == null ? "?" : "&"));
+  }
+
+  public PaginationLinks page(String rel, long page, int pageSize) {
+    links.add(Link.of(prefix + "page=" + page + "&pageSize=" + pageSize, rel));
+    return this;
+  }
+
+  public PaginationLinks cursor(String rel, String cursor, int pageSize) {
+    links.add(Link.of(prefix + "cursor=" + cursor + "&pageSize=" + pageSize, rel));
+    return this;
+  }
+
+  public List<Link> getLinks() {
+    return links;
+  }
+
+  public String toLinkHeader() {
+    StringJoiner joiner = new StringJoiner(", ");
+    for (Link link : links) {
+      joiner.add("<" + link.getHref() + ">; rel=\"" + link.getRel().value() + "\"; method=\"GET\"");
+    }
+    return joiner.toString();
+  }
+
+  public void applyTo(HttpHeaders headers, RepresentationModel<?> model) {
+    if (links.isEmpty()) {
+      return;
+    }
+    headers.add(HttpHeaders.LINK, toLinkHeader());
+    model.add(links);
+  }
+}
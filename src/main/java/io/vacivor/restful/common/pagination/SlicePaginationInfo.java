@@ -0,0 +1,3 @@
+package io.vacivor.restful.common.pagination;
+
+public record SlicePaginationInfo(int size, long number, boolean hasNext) {}
@@ -0,0 +1,21 @@
+package io.vacivor.restful.common.pagination;
+
+import java.util.Locale;
+
+public enum TotalCountMode {
+
+  EXACT,
+  ESTIMATED,
+  NONE;
+
+  public static TotalCountMode fromString(String value) {
+    if (value == null || value.isBlank()) {
+      return EXACT;
+    }
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown total count mode: " + value, e);
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package io.vacivor.restful.common.patch;
+
+import com.flipkart.zjsonpatch.Jackson3JsonPatch;
+import com.flipkart.zjsonpatch.JsonPatchApplicationException;
+import io.vacivor.restful.common.exception.BadRequestException;
+import io.vacivor.restful.common.exception.ConflictException;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.beans.BeanUtils;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+public final class JsonPatchPlan<T> {
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  private static final MethodType SETTER_TYPE =
+      MethodType.methodType(void.class, Object.class, Object.class);
+  private static final Set<String> DIRECT_OPS = Set.of("add", "replace", "remove", "test");
+  private static final Set<String> OPS =
+      Set.of("add", "replace", "remove", "test", "move", "copy");
+
+  private final Map<String, Property> properties;
+
+  private JsonPatchPlan(Map<String, Property> properties) {
+    this.properties = properties;
+  }
+
+  public static <T> JsonPatchPlan<T> compile(Class<T> type, Collection<String> allowedFields) {
+    Map<String, Property> properties = new LinkedHashMap<>();
+    for (String field : allowedFields) {
+      PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, field);
+      if (descriptor == null || descriptor.getReadMethod() == null
+          || descriptor.getWriteMethod() == null) {
+        throw new IllegalArgumentException("No read/write property " + field + " on " + type);
+      }
+      properties.put(field, new Property(field, descriptor.getPropertyType(),
+          unreflect(descriptor.getReadMethod(), GETTER_TYPE),
+          unreflect(descriptor.getWriteMethod(), SETTER_TYPE)));
+    }
+    return new JsonPatchPlan<>(Map.copyOf(properties));
+  }
+
+  public Set<String> apply(JsonNode patch, T target, ObjectMapper objectMapper) {
+    if (patch == null || !patch.isArray()) {
+      throw new BadRequestException("Invalid JSON Patch");
+    }
+    boolean direct = true;
+    for (JsonNode op : patch) {
+      String field = validate(op);
+      direct &= DIRECT_OPS.contains(op.path("op").asString()) && !field.contains("/");
+    }
+    try {
+      return direct
+          ? applyDirect(patch, target, objectMapper)
+          : applyFallback(patch, target, objectMapper);
+    } catch (JacksonException | IllegalArgumentException e) {
+      throw new BadRequestException("Invalid JSON Patch");
+    }
+  }
+
+  public Set<String> applyMerge(JsonNode mergePatch, T target, ObjectMapper objectMapper) {
+    if (mergePatch == null || !mergePatch.isObject()) {
+      throw new BadRequestException("Invalid JSON Merge Patch");
+    }
+    for (String name : mergePatch.propertyNames()) {
+      if (!properties.containsKey(name)) {
+        throw new BadRequestException("Patch not allowed for field: " + name);
+      }
+    }
+    Set<String> changed = new LinkedHashSet<>();
+    try {
+      for (Map.Entry<String, JsonNode> entry : mergePatch.properties()) {
+        Property property = properties.get(entry.getKey());
+        JsonNode value = entry.getValue();
+        property.write(target,
+            value.isNull() ? null : objectMapper.treeToValue(value, property.type()), changed);
+      }
+    } catch (JacksonException | IllegalArgumentException e) {
+      throw new BadRequestException("Invalid JSON Merge Patch");
+    }
+    return changed;
+  }
+
+  private String validate(JsonNode op) {
+    if (!op.isObject() || !op.path("op").isString() || !op.path("path").isString()) {
+      throw new BadRequestException("Invalid JSON Patch");
+    }
+    String opName = op.get("op").asString();
+    if (!OPS.contains(opName)) {
+      throw new BadRequestException("Unsupported JSON Patch operation: " + opName);
+    }
+    if (("move".equals(opName) || "copy".equals(opName)) && !op.path("from").isString()) {
+      throw new BadRequestException("Invalid JSON Patch");
+    }
+    String path = op.get("path").asString();
+    if (!path.startsWith("/")) {
+      throw new BadRequestException("Invalid JSON Patch");
+    }
+    String field = path.substring(1);
+    String name = field.split("/", 2)[0];
+    if (!properties.containsKey(name)) {
+      throw new BadRequestException("Patch not allowed for field: " + name);
+    }
+    JsonNode from = op.get("from");
+    if (from != null) {
+      String fromName = from.asString("").replaceFirst("^/", "").split("/", 2)[0];
+      if (!properties.containsKey(fromName)) {
+        throw new BadRequestException("Patch not allowed for field: " + fromName);
+      }
+    }
+    return field;
+  }
+
+  private Set<String> applyDirect(JsonNode patch, T target, ObjectMapper objectMapper) {
+    Set<String> changed = new LinkedHashSet<>();
+    for (JsonNode op : patch) {
+      Property property = properties.get(op.get("path").asString().substring(1));
+      String name = op.get("op").asString();
+      if ("remove".equals(name)) {
+        property.write(target, null, changed);
+        continue;
+      }
+      JsonNode value = op.get("value");
+      if (value == null) {
+        throw new BadRequestException("Invalid JSON Patch");
+      }
+      if ("test".equals(name)) {
+        JsonNode current = objectMapper.valueToTree(property.read(target));
+        if (!value.equals(current)) {
+          throw new ConflictException("JSON Patch test failed for " + property.name());
+        }
+        continue;
+      }
+      property.write(target, objectMapper.treeToValue(value, property.type()), changed);
+    }
+    return changed;
+  }
+
+  private Set<String> applyFallback(JsonNode patch, T target, ObjectMapper objectMapper) {
+    ObjectNode node = objectMapper.createObjectNode();
+    for (Property property : properties.values()) {
+      node.set(property.name(), objectMapper.valueToTree(property.read(target)));
+    }
+    // One operation at a time, so that only a failed test is a conflict; any other failure,
+    // such as a missing "from" location, means the patch document itself is invalid.
+    JsonNode patched = node;
+    for (JsonNode op : patch) {
+      try {
+        patched = Jackson3JsonPatch.apply(objectMapper.createArrayNode().add(op), patched);
+      } catch (JsonPatchApplicationException e) {
+        if ("test".equals(op.get("op").asString())) {
+          throw new ConflictException(e.getMessage());
+        }
+        throw new BadRequestException("Invalid JSON Patch: " + e.getMessage());
+      }
+    }
+    Set<String> changed = new LinkedHashSet<>();
+    for (Property property : properties.values()) {
+      JsonNode value = patched.get(property.name());
+      Object converted = value == null || value.isNull()
+          ? null
+          : objectMapper.treeToValue(value, property.type());
+      property.write(target, converted, changed);
+    }
+    return changed;
+  }
+
+  private static MethodHandle unreflect(Method method, MethodType type) {
+    try {
+      method.trySetAccessible();
+      return MethodHandles.lookup().unreflect(method).asType(type);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("Cannot access " + method, e);
+    }
+  }
+
+  private record Property(String name, Class<?> type, MethodHandle getter, MethodHandle setter) {
+
+    Object read(Object bean) {
+      try {
+        return (Object) getter.invokeExact(bean);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new IllegalStateException("Failed to read property " + name, e);
+      }
+    }
+
+    void write(Object bean, Object value, Set<String> changed) {
+      if (Objects.equals(read(bean), value)) {
+        return;
+      }
+      try {
+        setter.invokeExact(bean, value);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new IllegalStateException("Failed to write property " + name, e);
+      }
+      changed.add(name);
+    }
+  }
+}
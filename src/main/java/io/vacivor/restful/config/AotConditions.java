@@ -0,0 +1,74 @@
+package io.vacivor.restful.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+import org.springframework.core.env.Environment;
+
+/**
+ * The settings whose {@code @Conditional} outcome Spring AOT freezes into the generated bean
+ * definitions. {@code processAot} records them next to the generated classes and an AOT run
+ * refuses to start when its own configuration disagrees.
+ */
+final class AotConditions {
+
+  static final String RESOURCE = "META-INF/restful/aot-conditions.properties";
+
+  private static final String REPLICAS = "restful.datasource.replicas[0].url";
+
+  private AotConditions() {
+  }
+
+  static Map<String, String> snapshot(Environment environment) {
+    Map<String, String> values = new TreeMap<>();
+    flag(values, environment, "restful.sql-accounting.enabled", false);
+    flag(values, environment, "restful.schema.verify-ordering-indexes", true);
+    flag(values, environment, "spring.threads.virtual.enabled", false);
+    flag(values, environment, "spring.flyway.enabled", true);
+    values.put("restful.datasource.replicas",
+        environment.containsProperty(REPLICAS) ? "configured" : "none");
+    return values;
+  }
+
+  static String format(Map<String, String> values) {
+    StringBuilder content = new StringBuilder();
+    values.forEach((key, value) -> content.append(key).append('=').append(value).append('\n'));
+    return content.toString();
+  }
+
+  static Map<String, String> load(ClassLoader classLoader) {
+    try (InputStream in = classLoader.getResourceAsStream(RESOURCE)) {
+      if (in == null) {
+        return null;
+      }
+      Properties properties = new Properties();
+      properties.load(in);
+      Map<String, String> values = new TreeMap<>();
+      properties.stringPropertyNames().forEach(key -> values.put(key, properties.getProperty(key)));
+      return values;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read " + RESOURCE, e);
+    }
+  }
+
+  static List<String> differences(Map<String, String> built, Map<String, String> current) {
+    List<String> differences = new ArrayList<>();
+    current.forEach((key, value) -> {
+      if (!Objects.equals(built.get(key), value)) {
+        differences.add(key + " was " + built.get(key) + " at build time, is " + value + " now");
+      }
+    });
+    return differences;
+  }
+
+  private static void flag(Map<String, String> values, Environment environment, String key,
+      boolean defaultValue) {
+    values.put(key, String.valueOf(environment.getProperty(key, Boolean.class, defaultValue)));
+  }
+}
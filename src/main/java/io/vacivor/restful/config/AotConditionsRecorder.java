@@ -0,0 +1,21 @@
+package io.vacivor.restful.config;
+
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+/** Writes the condition settings seen by {@code processAot} next to the generated classes. */
+public class AotConditionsRecorder implements BeanFactoryInitializationAotProcessor {
+
+  @Override
+  public BeanFactoryInitializationAotContribution processAheadOfTime(
+      ConfigurableListableBeanFactory beanFactory) {
+    Environment environment = beanFactory.getBean(
+        ConfigurableApplicationContext.ENVIRONMENT_BEAN_NAME, Environment.class);
+    String content = AotConditions.format(AotConditions.snapshot(environment));
+    return (generationContext, code) ->
+        generationContext.getGeneratedFiles().addResourceFile(AotConditions.RESOURCE, content);
+  }
+}
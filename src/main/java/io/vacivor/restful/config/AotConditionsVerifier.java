@@ -0,0 +1,33 @@
+package io.vacivor.restful.config;
+
+import java.util.List;
+import java.util.Map;
+import org.springframework.aot.AotDetector;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Fails an AOT start ({@code -Dspring.aot.enabled=true}) whose configuration would select a
+ * different bean graph than the one {@code processAot} generated.
+ */
+public class AotConditionsVerifier
+    implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+  @Override
+  public void initialize(ConfigurableApplicationContext context) {
+    if (!AotDetector.useGeneratedArtifacts()) {
+      return;
+    }
+    Map<String, String> built = AotConditions.load(AotConditions.class.getClassLoader());
+    if (built == null) {
+      return;
+    }
+    List<String> differences =
+        AotConditions.differences(built, AotConditions.snapshot(context.getEnvironment()));
+    if (!differences.isEmpty()) {
+      throw new IllegalStateException("Spring AOT fixed these settings at build time: "
+          + String.join("; ", differences)
+          + ". Rerun processAot with this configuration or start without spring.aot.enabled");
+    }
+  }
+}
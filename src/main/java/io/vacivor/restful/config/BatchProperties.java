@@ -0,0 +1,11 @@
+package io.vacivor.restful.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "restful.batch")
+public record BatchProperties(
+    @DefaultValue("50000") int maxItems,
+    @DefaultValue("1000") int flushSize,
+    @DefaultValue("1000") int fetchSize) {
+}
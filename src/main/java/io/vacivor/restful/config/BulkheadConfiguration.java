@@ -0,0 +1,96 @@
+package io.vacivor.restful.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vacivor.restful.common.jdbc.BulkheadDataSource;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+
+@Configuration(proxyBeanMethods = false)
+public class BulkheadConfiguration {
+
+  private static final Logger log = LoggerFactory.getLogger(BulkheadConfiguration.class);
+
+  // The declared return type is what Spring inspects for PriorityOrdered, so this runs before
+  // any other DataSource post-processor, e.g. SQL accounting, can wrap the pool.
+  @Bean
+  static ConnectionPoolBulkheadPostProcessor connectionPoolBulkhead(
+      ObjectProvider<BulkheadProperties> properties,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    return new ConnectionPoolBulkheadPostProcessor(properties, meterRegistry);
+  }
+
+  static DataSource bulkhead(String name, HikariDataSource pool, BulkheadProperties properties,
+      MeterRegistry meterRegistry) {
+    return bulkhead(name, pool, pool, properties, meterRegistry);
+  }
+
+  private static DataSource bulkhead(String name, DataSource target, HikariDataSource pool,
+      BulkheadProperties properties, MeterRegistry meterRegistry) {
+    if (!properties.enabled()) {
+      return target;
+    }
+    int maxConcurrent = properties.maxConcurrent() != null
+        ? properties.maxConcurrent()
+        : pool.getMaximumPoolSize();
+    BulkheadDataSource bulkhead =
+        new BulkheadDataSource(target, maxConcurrent, properties.acquireTimeout());
+    if (meterRegistry != null) {
+      Gauge.builder("restful.bulkhead.available", bulkhead, BulkheadDataSource::availablePermits)
+          .tag("pool", name)
+          .register(meterRegistry);
+      Gauge.builder("restful.bulkhead.queued", bulkhead, BulkheadDataSource::queueLength)
+          .tag("pool", name)
+          .register(meterRegistry);
+    }
+    log.info("Connection pool {} bulkhead allows {} concurrent connections", name, maxConcurrent);
+    return bulkhead;
+  }
+
+  static final class ConnectionPoolBulkheadPostProcessor
+      implements BeanPostProcessor, PriorityOrdered {
+
+    private final ObjectProvider<BulkheadProperties> properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    ConnectionPoolBulkheadPostProcessor(ObjectProvider<BulkheadProperties> properties,
+        ObjectProvider<MeterRegistry> meterRegistry) {
+      this.properties = properties;
+      this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+      if (!(bean instanceof DataSource dataSource)) {
+        return bean;
+      }
+      try {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)
+            || dataSource.isWrapperFor(BulkheadDataSource.class)) {
+          return bean;
+        }
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        String name = pool.getPoolName() != null ? pool.getPoolName() : beanName;
+        return bulkhead(name, dataSource, pool, properties.getObject(),
+            meterRegistry.getIfAvailable());
+      } catch (SQLException e) {
+        throw new BeanInitializationException("Cannot inspect DataSource " + beanName, e);
+      }
+    }
+
+    @Override
+    public int getOrder() {
+      return Ordered.HIGHEST_PRECEDENCE;
+    }
+  }
+}
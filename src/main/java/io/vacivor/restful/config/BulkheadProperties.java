@@ -0,0 +1,12 @@
+package io.vacivor.restful.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "restful.bulkhead")
+public record BulkheadProperties(
+    @DefaultValue("true") boolean enabled,
+    Integer maxConcurrent,
+    @DefaultValue("2s") Duration acquireTimeout) {
+}
@@ -0,0 +1,105 @@
+package io.vacivor.restful.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vacivor.restful.common.jdbc.ReadWriteRoutingDataSource;
+import io.vacivor.restful.common.jdbc.ReadYourWritesTransactionListener;
+import io.vacivor.restful.common.jdbc.ReplicaLagMonitor;
+import io.vacivor.restful.common.jdbc.ReplicaRoutingDataSource;
+import io.vacivor.restful.web.ReadYourWritesFilter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "restful.datasource.replicas[0]", name = "url")
+public class DataSourceRoutingConfiguration {
+
+  @Bean
+  public DataSource dataSource(
+      DataSourceProperties dataSourceProperties,
+      DataSourceRoutingProperties properties,
+      Environment environment,
+      BulkheadProperties bulkheadProperties,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+
+    HikariDataSource primaryPool = dataSourceProperties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+    Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primaryPool));
+    primaryPool.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+    trackPool(primaryPool, registry);
+    DataSource primary = BulkheadConfiguration.bulkhead(
+        ReplicaRoutingDataSource.PRIMARY, primaryPool, bulkheadProperties, registry);
+
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    List<DataSourceRoutingProperties.Replica> configured = properties.replicas();
+    for (int i = 0; i < configured.size(); i++) {
+      String name = "replica-" + i;
+      HikariDataSource pool = replicaDataSource(name, configured.get(i), registry);
+      replicas.put(name, BulkheadConfiguration.bulkhead(name, pool, bulkheadProperties, registry));
+    }
+
+    ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(
+        replicas, properties.maxLag(), properties.lagCheckInterval());
+    if (registry != null) {
+      for (String replica : replicas.keySet()) {
+        Gauge.builder("restful.datasource.replica.lag", lagMonitor, m -> m.lagSeconds(replica))
+            .tag("replica", replica)
+            .baseUnit("seconds")
+            .register(registry);
+      }
+    }
+    lagMonitor.start();
+    return new ReadWriteRoutingDataSource(primary, lagMonitor, registry);
+  }
+
+  @Bean
+  public ReadYourWritesTransactionListener readYourWritesTransactionListener() {
+    return new ReadYourWritesTransactionListener();
+  }
+
+  @Bean
+  public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+      DataSourceRoutingProperties properties) {
+    FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+        new ReadYourWritesFilter(properties.pinAfterWrite()));
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+    return registration;
+  }
+
+  private static HikariDataSource replicaDataSource(
+      String name, DataSourceRoutingProperties.Replica replica, MeterRegistry registry) {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setPoolName(name);
+    dataSource.setJdbcUrl(replica.url());
+    dataSource.setUsername(replica.username());
+    dataSource.setPassword(replica.password());
+    dataSource.setReadOnly(true);
+    if (replica.maximumPoolSize() != null) {
+      dataSource.setMaximumPoolSize(replica.maximumPoolSize());
+    }
+    trackPool(dataSource, registry);
+    return dataSource;
+  }
+
+  private static void trackPool(HikariDataSource dataSource, MeterRegistry registry) {
+    if (registry != null) {
+      dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package io.vacivor.restful.config;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "restful.datasource")
+public record DataSourceRoutingProperties(
+    @DefaultValue List<Replica> replicas,
+    @DefaultValue("5s") Duration maxLag,
+    @DefaultValue("1s") Duration lagCheckInterval,
+    @DefaultValue("5s") Duration pinAfterWrite) {
+
+  public record Replica(String url, String username, String password, Integer maximumPoolSize) {
+  }
+}
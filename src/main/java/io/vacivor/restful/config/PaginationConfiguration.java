@@ -0,0 +1,29 @@
+package io.vacivor.restful.config;
+
+import io.vacivor.restful.common.pagination.CursorCodec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.ObjectMapper;
+
+@Configuration(proxyBeanMethods = false)
+public class PaginationConfiguration {
+
+  private final Logger log = LoggerFactory.getLogger(PaginationConfiguration.class);
+
+  @Bean
+  public CursorCodec cursorCodec(ObjectMapper objectMapper, PaginationProperties properties) {
+    String secret = properties.cursorSecret();
+    if (secret == null || secret.isBlank()) {
+      log.warn("restful.pagination.cursor-secret is not set; "
+          + "cursors will not survive a restart or work across instances");
+      byte[] key = new byte[32];
+      new SecureRandom().nextBytes(key);
+      return new CursorCodec(objectMapper, key);
+    }
+    return new CursorCodec(objectMapper, secret.getBytes(StandardCharsets.UTF_8));
+  }
+}
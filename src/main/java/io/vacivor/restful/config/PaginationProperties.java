@@ -0,0 +1,13 @@
+package io.vacivor.restful.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "restful.pagination")
+public record PaginationProperties(
+    Integer maxPage,
+    @DefaultValue("100") Integer maxPageSize,
+    String cursorSecret,
+    @DefaultValue("30s") Duration estimateRefresh) {
+}
@@ -0,0 +1,27 @@
+package io.vacivor.restful.config;
+
+import io.vacivor.restful.controller.UserQueryParameters;
+import io.vacivor.restful.domain.User;
+import io.vacivor.restful.repository.IdSequenceGuard;
+import io.vacivor.restful.repository.OrderingIndexVerifier;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class SchemaConfiguration {
+
+  @Bean
+  public IdSequenceGuard userIdSequenceGuard(DataSource dataSource) {
+    return new IdSequenceGuard(dataSource, "users", "id", User.ID_SEQUENCE);
+  }
+
+  @Bean
+  @ConditionalOnBooleanProperty(name = "restful.schema.verify-ordering-indexes",
+      matchIfMissing = true)
+  public OrderingIndexVerifier orderingIndexVerifier(DataSource dataSource) {
+    return new OrderingIndexVerifier(
+        dataSource, "users", "id", UserQueryParameters.ORDERING.getAllowedProperties());
+  }
+}
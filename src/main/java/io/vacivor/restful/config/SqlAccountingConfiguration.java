@@ -0,0 +1,38 @@
+package io.vacivor.restful.config;
+
+import io.vacivor.restful.common.jdbc.AccountingDataSource;
+import io.vacivor.restful.web.SqlAccountingFilter;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnBooleanProperty("restful.sql-accounting.enabled")
+public class SqlAccountingConfiguration {
+
+  @Bean
+  static BeanPostProcessor accountingDataSourcePostProcessor() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof AccountingDataSource)) {
+          return new AccountingDataSource(dataSource);
+        }
+        return bean;
+      }
+    };
+  }
+
+  @Bean
+  public FilterRegistrationBean<SqlAccountingFilter> sqlAccountingFilter(
+      SqlAccountingProperties properties) {
+    FilterRegistrationBean<SqlAccountingFilter> registration = new FilterRegistrationBean<>(
+        new SqlAccountingFilter(properties.statementThreshold()));
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+    return registration;
+  }
+}
@@ -0,0 +1,10 @@
+package io.vacivor.restful.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "restful.sql-accounting")
+public record SqlAccountingProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("10") int statementThreshold) {
+}
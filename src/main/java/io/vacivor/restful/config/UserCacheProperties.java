@@ -0,0 +1,12 @@
+package io.vacivor.restful.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "restful.cache.users")
+public record UserCacheProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("10000") long maximumSize,
+    @DefaultValue("60s") Duration ttl) {
+}
@@ -0,0 +1,47 @@
+package io.vacivor.restful.config;
+
+import io.vacivor.restful.hateoas.HalBinaryModule;
+import io.vacivor.restful.web.PipelineMetrics;
+import io.vacivor.restful.web.PipelineMetricsInterceptor;
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+@Configuration(proxyBeanMethods = false)
+public class WebConfiguration implements WebMvcConfigurer {
+
+  private final PipelineMetrics pipelineMetrics;
+
+  public WebConfiguration(PipelineMetrics pipelineMetrics) {
+    this.pipelineMetrics = pipelineMetrics;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new PipelineMetricsInterceptor(pipelineMetrics));
+  }
+
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.removeIf(converter -> converter instanceof JacksonCborHttpMessageConverter
+        || converter instanceof JacksonSmileHttpMessageConverter);
+
+    JacksonCborHttpMessageConverter cbor = new JacksonCborHttpMessageConverter(
+        CBORMapper.builder().addModule(new HalBinaryModule()).build());
+    cbor.setSupportedMediaTypes(List.of(MediaType.APPLICATION_CBOR, HalBinaryModule.HAL_CBOR));
+    converters.add(cbor);
+
+    JacksonSmileHttpMessageConverter smile = new JacksonSmileHttpMessageConverter(
+        SmileMapper.builder().addModule(new HalBinaryModule()).build());
+    smile.setSupportedMediaTypes(
+        List.of(HalBinaryModule.APPLICATION_SMILE, HalBinaryModule.HAL_SMILE));
+    converters.add(smile);
+  }
+}
@@ -0,0 +1,358 @@
+package io.vacivor.restful.controller;
+
+import io.vacivor.restful.assembler.UserModelAssembler;
+import io.vacivor.restful.common.csv.Csv;
+import io.vacivor.restful.common.exception.BadRequestException;
+import io.vacivor.restful.common.jdbc.SqlStates;
+import io.vacivor.restful.common.pagination.Keyset;
+import io.vacivor.restful.config.BatchProperties;
+import io.vacivor.restful.domain.User;
+import io.vacivor.restful.domain.UserStatusEnum;
+import io.vacivor.restful.dto.BatchCreateResult;
+import io.vacivor.restful.dto.ImportReport;
+import io.vacivor.restful.dto.UserCreateRequest;
+import io.vacivor.restful.dto.UserResponse;
+import io.vacivor.restful.hateoas.FieldSet;
+import io.vacivor.restful.hateoas.LinkTemplate;
+import io.vacivor.restful.repository.UserBulkLoader;
+import io.vacivor.restful.repository.UserRepository;
+import io.vacivor.restful.web.RowFormat;
+import io.vacivor.restful.web.RowWriter;
+import jakarta.persistence.Tuple;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+@RestController
+public class UserBulkController {
+
+  private static final LinkTemplate SELF = LinkTemplate.of(UserController.class, "get");
+
+  private static final List<String> EXPORT_ATTRIBUTES =
+      List.of("id", "username", "email", "status", "createdAt");
+  private static final int MAX_REPORTED_ERRORS = 1000;
+
+  private final UserRepository userRepository;
+  private final UserModelAssembler assembler;
+  private final BatchProperties batchProperties;
+  private final ObjectMapper objectMapper;
+  private final UserBulkLoader bulkLoader;
+  private final TransactionTemplate readOnlyTransaction;
+  private final TransactionTemplate writeTransaction;
+
+  public UserBulkController(
+      UserRepository userRepository,
+      UserModelAssembler assembler,
+      BatchProperties batchProperties,
+      ObjectMapper objectMapper,
+      UserBulkLoader bulkLoader,
+      PlatformTransactionManager transactionManager) {
+    this.userRepository = userRepository;
+    this.assembler = assembler;
+    this.batchProperties = batchProperties;
+    this.objectMapper = objectMapper;
+    this.bulkLoader = bulkLoader;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.writeTransaction = new TransactionTemplate(transactionManager);
+  }
+
+  @GetMapping(path = "/users:export", produces = {"application/x-ndjson", "text/csv"})
+  public ResponseEntity<StreamingResponseBody> export(
+      @RequestParam(name = "orderBy", required = false) String orderBy,
+      @RequestParam(name = "fields", required = false) String fields,
+      @RequestParam(name = "filter", required = false) String filter,
+      @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+    Sort sort = Keyset.withTiebreaker(UserQueryParameters.ORDERING.getSort(orderBy), "id");
+    List<String> columns = exportColumns(FieldSet.parse(fields));
+    Specification<User> where = UserQueryParameters.parseFilter(filter).specification();
+    RowFormat format = RowFormat.fromAccept(accept);
+
+    StreamingResponseBody body = out -> readOnlyTransaction.executeWithoutResult(status -> {
+      try (Stream<Tuple> rows = userRepository.streamAll(
+              where, sort, columns, batchProperties.fetchSize());
+          RowWriter writer = format.open(out, columns, objectMapper)) {
+        Object[] values = new Object[columns.size()];
+        rows.forEach(row -> {
+          for (int i = 0; i < values.length; i++) {
+            Object value = row.get(i);
+            values[i] = value instanceof UserStatusEnum userStatus ? userStatus.getCode() : value;
+          }
+          writer.writeRow(values);
+        });
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+
+    return ResponseEntity.ok()
+        .contentType(format.getMediaType())
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users."
+            + format.name().toLowerCase(Locale.ROOT) + "\"")
+        .body(body);
+  }
+
+  @PostMapping("/users:batchCreate")
+  public ResponseEntity<List<BatchCreateResult>> batchCreate(
+      @RequestBody List<UserCreateRequest> payload) {
+    if (payload == null || payload.isEmpty()) {
+      throw new BadRequestException("Body must be a non-empty array");
+    }
+    if (payload.size() > batchProperties.maxItems()) {
+      throw new BadRequestException("At most " + batchProperties.maxItems() + " items are allowed");
+    }
+
+    BatchCreateResult[] results = new BatchCreateResult[payload.size()];
+    List<User> users = new ArrayList<>(payload.size());
+    List<Integer> indexes = new ArrayList<>(payload.size());
+    Set<String> usernames = new HashSet<>();
+    Set<String> emails = new HashSet<>();
+    for (int i = 0; i < payload.size(); i++) {
+      UserCreateRequest item = payload.get(i);
+      String username = item == null ? null : trimToNull(item.getUsername());
+      String email = item == null ? null : trimToNull(item.getEmail());
+      String error = rejectReason(username, email);
+      if (error != null) {
+        results[i] = BatchCreateResult.rejected(i, error);
+        continue;
+      }
+      if (!usernames.add(username) | !emails.add(email)) {
+        results[i] = BatchCreateResult.conflict(i, "username or email is repeated in this batch");
+        continue;
+      }
+      users.add(newUser(username, email));
+      indexes.add(i);
+    }
+
+    if (!users.isEmpty()) {
+      try {
+        userRepository.insertAll(users, batchProperties.flushSize());
+      } catch (DataIntegrityViolationException e) {
+        List<User> inserted = new ArrayList<>(users.size());
+        List<Integer> insertedIndexes = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+          User user = newUser(users.get(i).getUsername(), users.get(i).getEmail());
+          try {
+            userRepository.insertAll(List.of(user), 1);
+            inserted.add(user);
+            insertedIndexes.add(indexes.get(i));
+          } catch (DataIntegrityViolationException conflict) {
+            results[indexes.get(i)] =
+                BatchCreateResult.conflict(indexes.get(i), conflictReason(conflict));
+          }
+        }
+        users = inserted;
+        indexes = insertedIndexes;
+      }
+    }
+
+    String baseUri = LinkTemplate.currentBaseUri();
+    for (int i = 0; i < users.size(); i++) {
+      UserResponse dto = assembler.toModel(users.get(i));
+      dto.add(SELF.toLink(baseUri, dto.getId(), "self"));
+      results[indexes.get(i)] = BatchCreateResult.created(indexes.get(i), dto);
+    }
+    return ResponseEntity.ok(List.of(results));
+  }
+
+  @PostMapping(path = "/users:import", consumes = {"application/x-ndjson", "text/csv"})
+  public ResponseEntity<ImportReport> importUsers(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+    RowFormat format = RowFormat.fromContentType(contentType);
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+      return ResponseEntity.ok(load(reader, format));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private ImportReport load(BufferedReader reader, RowFormat format) throws IOException {
+    long started = System.nanoTime();
+    int chunkSize = batchProperties.flushSize();
+    List<User> chunk = new ArrayList<>(chunkSize);
+    List<Long> chunkLines = new ArrayList<>(chunkSize);
+    ImportProgress progress = new ImportProgress();
+    long lineNumber = 0;
+    int[] csvColumns = null;
+    String record;
+    while ((record = format == RowFormat.CSV ? Csv.readRecord(reader) : reader.readLine())
+        != null) {
+      long recordLine = lineNumber + 1;
+      lineNumber += 1 + record.chars().filter(c -> c == '\n').count();
+      if (record.isBlank()) {
+        continue;
+      }
+      if (format == RowFormat.CSV && csvColumns == null) {
+        csvColumns = csvColumns(record);
+        continue;
+      }
+      progress.received++;
+      String error;
+      User user = null;
+      try {
+        UserCreateRequest item = format == RowFormat.CSV
+            ? fromCsv(record, csvColumns)
+            : objectMapper.readValue(record, UserCreateRequest.class);
+        String username = item == null ? null : trimToNull(item.getUsername());
+        String email = item == null ? null : trimToNull(item.getEmail());
+        error = rejectReason(username, email);
+        if (error == null) {
+          user = newUser(username, email);
+        }
+      } catch (JacksonException | IllegalArgumentException e) {
+        error = "Malformed " + format.name() + " row";
+      }
+      if (user == null) {
+        progress.reject(recordLine, error);
+        continue;
+      }
+      chunk.add(user);
+      chunkLines.add(recordLine);
+      if (chunk.size() == chunkSize) {
+        flush(chunk, chunkLines, progress);
+        chunk = new ArrayList<>(chunkSize);
+        chunkLines = new ArrayList<>(chunkSize);
+      }
+    }
+    if (!chunk.isEmpty()) {
+      flush(chunk, chunkLines, progress);
+    }
+
+    long elapsedNanos = System.nanoTime() - started;
+    double rowsPerSecond =
+        elapsedNanos == 0 ? 0 : progress.imported * 1_000_000_000d / elapsedNanos;
+    return new ImportReport(progress.received, progress.imported, progress.rejected,
+        elapsedNanos / 1_000_000, rowsPerSecond, progress.errors,
+        progress.rejected > progress.errors.size());
+  }
+
+  private void flush(List<User> chunk, List<Long> lines, ImportProgress progress) {
+    try {
+      writeTransaction.executeWithoutResult(status -> bulkLoader.load(chunk));
+      progress.imported += chunk.size();
+      return;
+    } catch (DataIntegrityViolationException e) {
+      // fall through and find the offending rows one by one
+    }
+    for (int i = 0; i < chunk.size(); i++) {
+      User user = newUser(chunk.get(i).getUsername(), chunk.get(i).getEmail());
+      try {
+        userRepository.insertAll(List.of(user), 1);
+        progress.imported++;
+      } catch (DataIntegrityViolationException conflict) {
+        progress.reject(lines.get(i), conflictReason(conflict));
+      }
+    }
+  }
+
+  private int[] csvColumns(String header) {
+    List<String> names = Csv.parseLine(header);
+    int username = names.indexOf("username");
+    int email = names.indexOf("email");
+    if (username < 0 || email < 0) {
+      throw new BadRequestException("CSV header must contain username and email columns");
+    }
+    return new int[] {username, email};
+  }
+
+  private UserCreateRequest fromCsv(String line, int[] columns) {
+    List<String> cells = Csv.parseLine(line);
+    UserCreateRequest item = new UserCreateRequest();
+    item.setUsername(columns[0] < cells.size() ? cells.get(columns[0]) : null);
+    item.setEmail(columns[1] < cells.size() ? cells.get(columns[1]) : null);
+    return item;
+  }
+
+  private String rejectReason(String username, String email) {
+    if (username == null || email == null) {
+      return "username and email are required";
+    }
+    if (username.length() > 64) {
+      return "username must be at most 64 characters";
+    }
+    if (email.length() > 128) {
+      return "email must be at most 128 characters";
+    }
+    return null;
+  }
+
+  private String conflictReason(DataIntegrityViolationException e) {
+    return SqlStates.isUniqueViolation(e)
+        ? "username or email already exists"
+        : "violates a database constraint";
+  }
+
+  private User newUser(String username, String email) {
+    User user = new User();
+    user.setUsername(username);
+    user.setEmail(email);
+    user.setStatus(UserStatusEnum.ENABLED);
+    return user;
+  }
+
+  private List<String> exportColumns(FieldSet fieldSet) {
+    if (fieldSet.isAll()) {
+      return EXPORT_ATTRIBUTES;
+    }
+    List<String> columns = new ArrayList<>();
+    for (String field : fieldSet.names()) {
+      if (EXPORT_ATTRIBUTES.contains(field)) {
+        columns.add(field);
+      }
+    }
+    if (columns.isEmpty()) {
+      throw new BadRequestException("fields must select at least one exportable attribute");
+    }
+    return columns;
+  }
+
+  private static final class ImportProgress {
+
+    private final List<ImportReport.LineError> errors = new ArrayList<>();
+    private long received;
+    private long imported;
+    private long rejected;
+
+    private void reject(long line, String error) {
+      rejected++;
+      if (errors.size() < MAX_REPORTED_ERRORS) {
+        errors.add(new ImportReport.LineError(line, error));
+      }
+    }
+  }
+
+  private String trimToNull(String value) {
+    if (value == null) {
+      return null;
+    }
+    String trimmed = value.trim();
+    return trimmed.isEmpty() ? null : trimmed;
+  }
+}
@@ -1,29 +1,49 @@
 package io.vacivor.restful.controller;
 
-import com.flipkart.zjsonpatch.Jackson3JsonPatch;
 import io.vacivor.restful.assembler.UserModelAssembler;
 import io.vacivor.restful.common.exception.BadRequestException;
 import io.vacivor.restful.common.exception.NotFoundException;
-import io.vacivor.restful.common.ordering.OrderingParameters;
-import io.vacivor.restful.common.ordering.SpringDataOrderingAdapter;
+import io.vacivor.restful.common.exception.PreconditionFailedException;
+import io.vacivor.restful.common.filtering.FilterPlan;
+import io.vacivor.restful.common.jdbc.ReadYourWrites;
+import io.vacivor.restful.common.pagination.Cursor;
+import io.vacivor.restful.common.pagination.CursorCodec;
+import io.vacivor.restful.common.pagination.CursorPaginationInfo;
+import io.vacivor.restful.common.pagination.Keyset;
+import io.vacivor.restful.common.pagination.PaginationLinks;
 import io.vacivor.restful.common.pagination.PaginationParameters;
+import io.vacivor.restful.common.pagination.SlicePaginationInfo;
+import io.vacivor.restful.common.pagination.TotalCountMode;
+import io.vacivor.restful.common.patch.JsonPatchPlan;
+import io.vacivor.restful.config.PaginationProperties;
 import io.vacivor.restful.domain.User;
 import io.vacivor.restful.domain.UserStatusEnum;
 import io.vacivor.restful.dto.UserCreateRequest;
 import io.vacivor.restful.dto.UserResponse;
-import io.vacivor.restful.hateoas.MethodLink;
+import io.vacivor.restful.hateoas.FieldSet;
+import io.vacivor.restful.hateoas.LinkTemplate;
+import io.vacivor.restful.repository.UserCache;
+import io.vacivor.restful.repository.UserCountEstimator;
 import io.vacivor.restful.repository.UserRepository;
+import io.vacivor.restful.web.EntityTags;
+import io.vacivor.restful.web.PipelineMetrics;
+import jakarta.persistence.Tuple;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.LongSupplier;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.hateoas.Link;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.hateoas.PagedModel;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -31,10 +51,10 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
@@ -43,17 +63,44 @@ import tools.jackson.databind.ObjectMapper;
 @RequestMapping("/users")
 public class UserController {
 
+  private static final Set<String> LIST_ATTRIBUTES =
+      Set.of("id", "username", "email", "status", "createdAt");
+  private static final JsonPatchPlan<User> PATCH_PLAN =
+      JsonPatchPlan.compile(User.class, List.of("username", "email"));
+
+  private static final LinkTemplate SELF = LinkTemplate.of(UserController.class, "get");
+
+  private static final String LIST_ENDPOINT =
+      PipelineMetrics.endpoint(UserController.class, "list");
+  private static final String GET_ENDPOINT =
+      PipelineMetrics.endpoint(UserController.class, "get");
+
   private final UserRepository userRepository;
   private final ObjectMapper objectMapper;
   private final UserModelAssembler assembler;
+  private final CursorCodec cursorCodec;
+  private final PaginationProperties paginationProperties;
+  private final UserCountEstimator countEstimator;
+  private final UserCache userCache;
+  private final PipelineMetrics metrics;
 
   public UserController(
       UserRepository userRepository,
       ObjectMapper objectMapper,
-      UserModelAssembler assembler) {
+      UserModelAssembler assembler,
+      CursorCodec cursorCodec,
+      PaginationProperties paginationProperties,
+      UserCountEstimator countEstimator,
+      UserCache userCache,
+      PipelineMetrics metrics) {
     this.userRepository = userRepository;
     this.objectMapper = objectMapper;
     this.assembler = assembler;
+    this.cursorCodec = cursorCodec;
+    this.paginationProperties = paginationProperties;
+    this.countEstimator = countEstimator;
+    this.userCache = userCache;
+    this.metrics = metrics;
   }
 
   @GetMapping
@@ -61,35 +108,68 @@ public class UserController {
       @RequestParam(name = "page", required = false) Integer page,
       @RequestParam(name = "pageSize", required = false) Integer pageSize,
       @RequestParam(name = "orderBy", required = false) String orderBy,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      @RequestParam(name = "totalCount", required = false) String totalCount,
+      @RequestParam(name = "fields", required = false) String fields,
+      @RequestParam(name = "filter", required = false) String filter,
       HttpServletRequest request) {
 
+    if (page != null && cursor != null) {
+      throw new BadRequestException("page and cursor cannot be combined");
+    }
     int requestedPage = page == null ? 1 : page;
     if (requestedPage < 1) {
       throw new BadRequestException("page must be >= 1");
     }
+    Integer maxPage = paginationProperties.maxPage();
     PaginationParameters paginationParameters = PaginationParameters.of(requestedPage - 1,
-        pageSize);
+            pageSize)
+        .setMaxPage(maxPage == null ? null : maxPage - 1)
+        .setMaxPageSize(paginationProperties.maxPageSize())
+        .setCursor(cursor);
+
+    TotalCountMode countMode;
+    try {
+      countMode = TotalCountMode.fromString(totalCount);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("totalCount must be one of exact, estimated, none");
+    }
+
+    long stage = metrics.start();
+    Sort sort = UserQueryParameters.ORDERING.getSort(orderBy);
+    FieldSet fieldSet = FieldSet.parse(fields);
+    FilterPlan.Filter<User> filtering = UserQueryParameters.parseFilter(filter);
+    stage = metrics.record(LIST_ENDPOINT, "ordering", stage);
 
-    OrderingParameters<Sort, Sort.Order> ordering = new OrderingParameters<>(
-        orderBy, new SpringDataOrderingAdapter())
-        .allow(allowedOrderFields())
-        .parse();
+    if (paginationParameters.getCursor() != null) {
+      return listByCursor(paginationParameters, sort, filtering, fieldSet, request, stage);
+    }
 
-    Sort sort = ordering.getSort();
+    Specification<User> where = filtering.specification();
+    if (countMode == TotalCountMode.NONE) {
+      return listWithoutCount(paginationParameters, sort, where, fieldSet, request, stage);
+    }
 
     int pageIndex = paginationParameters.getPage();
     int size = paginationParameters.getPageSize();
 
     PageRequest pageable = PageRequest.of(pageIndex, size, sort);
-    Page<User> result = userRepository.findAll(pageable);
+    List<Tuple> content = userRepository.findWindow(where, sort, pageable.getOffset(), size,
+        projectedAttributes(fieldSet, sort));
+    stage = metrics.record(LIST_ENDPOINT, "query", stage);
+    LongSupplier total;
+    if (where != null) {
+      total = () -> userRepository.count(where);
+    } else if (countMode == TotalCountMode.ESTIMATED) {
+      total = () -> Math.max(countEstimator.estimate(), pageable.getOffset() + content.size());
+    } else {
+      total = userRepository::count;
+    }
+    Page<Tuple> result = PageableExecutionUtils.getPage(content, pageable, total);
+    stage = metrics.record(LIST_ENDPOINT, "count", stage);
 
-    List<UserResponse> items = result.getContent().stream()
-        .map(assembler::toModel)
-        .map(item -> {
-          attachMethodLinks(item);
-          return item;
-        })
-        .toList();
+    List<UserResponse> items = toModels(result.getContent(), fieldSet);
+    stage = metrics.record(LIST_ENDPOINT, "assembly", stage);
 
     long total = result.getTotalElements();
     long totalPage = total == 0 ? 0 : (total + size - 1) / size;
@@ -98,47 +178,201 @@ public class UserController {
 
     HttpHeaders headers = new HttpHeaders();
     headers.add("X-Pagination", toJson(pagination));
-    String linkHeader = buildPaginationLinks(
-        request, pageIndex + 1, size, totalPage);
-    if (!linkHeader.isEmpty()) {
-      headers.add(HttpHeaders.LINK, linkHeader);
+
+    PaginationLinks links = PaginationLinks.from(request)
+        .page("self", pageIndex + 1, size);
+    if (totalPage > 0) {
+      links.page("first", 1, size);
+      if (pageIndex > 0) {
+        links.page("prev", pageIndex, size);
+      }
+      if (pageIndex + 1 < totalPage) {
+        links.page("next", pageIndex + 2, size);
+      }
+      links.page("last", totalPage, size);
     }
 
     PagedModel<UserResponse> body = PagedModel.of(items, pagination);
-    body.add(Link.of(buildPageUrl(request, pageIndex + 1, size), "self"));
-    if (totalPage > 0) {
-      body.add(Link.of(buildPageUrl(request, 1, size), "first"));
-      body.add(Link.of(buildPageUrl(request, (int) totalPage, size), "last"));
+    links.applyTo(headers, body);
+    metrics.record(LIST_ENDPOINT, "links", stage);
+
+    return ResponseEntity.ok().headers(headers).body(body);
+  }
+
+  private ResponseEntity<PagedModel<UserResponse>> listWithoutCount(
+      PaginationParameters paginationParameters, Sort sort, Specification<User> where,
+      FieldSet fieldSet, HttpServletRequest request, long stage) {
+    int pageIndex = paginationParameters.getPage();
+    int size = paginationParameters.getPageSize();
+
+    List<Tuple> rows = new ArrayList<>(userRepository.findWindow(
+        where, sort, (long) pageIndex * size, size + 1, projectedAttributes(fieldSet, sort)));
+    stage = metrics.record(LIST_ENDPOINT, "query", stage);
+    boolean hasNext = rows.size() > size;
+    if (hasNext) {
+      rows.remove(size);
+    }
+
+    List<UserResponse> items = toModels(rows, fieldSet);
+    stage = metrics.record(LIST_ENDPOINT, "assembly", stage);
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.add("X-Pagination",
+        toJson(new SlicePaginationInfo(size, pageIndex + 1L, hasNext)));
+
+    PaginationLinks links = PaginationLinks.from(request)
+        .page("self", pageIndex + 1, size)
+        .page("first", 1, size);
+    if (pageIndex > 0) {
+      links.page("prev", pageIndex, size);
+    }
+    if (hasNext) {
+      links.page("next", pageIndex + 2, size);
+    }
+
+    PagedModel<UserResponse> body = PagedModel.of(items, (PagedModel.PageMetadata) null);
+    links.applyTo(headers, body);
+    metrics.record(LIST_ENDPOINT, "links", stage);
+
+    return ResponseEntity.ok().headers(headers).body(body);
+  }
+
+  private ResponseEntity<PagedModel<UserResponse>> listByCursor(
+      PaginationParameters paginationParameters, Sort sort, FilterPlan.Filter<User> filtering,
+      FieldSet fieldSet, HttpServletRequest request, long stage) {
+    int size = paginationParameters.getPageSize();
+    Sort keysetSort = Keyset.withTiebreaker(sort, "id");
+    String fingerprint = filtering.isEmpty()
+        ? Keyset.fingerprint(keysetSort)
+        : Keyset.fingerprint(keysetSort) + "|" + filtering.fingerprint();
+
+    String token = paginationParameters.getCursor();
+    boolean backward = false;
+    Sort querySort = keysetSort;
+    Specification<User> spec = filtering.specification();
+    if (!token.isEmpty()) {
+      Cursor position = cursorCodec.decode(token);
+      if (!fingerprint.equals(position.ordering())) {
+        throw new BadRequestException("cursor does not match orderBy or filter");
+      }
+      backward = position.direction() == Cursor.Direction.PREV;
+      querySort = backward ? Keyset.reverse(keysetSort) : keysetSort;
+      try {
+        Specification<User> after = Keyset.after(querySort, position.keys(), objectMapper);
+        spec = spec == null ? after : spec.and(after);
+      } catch (IllegalArgumentException e) {
+        throw new BadRequestException("Invalid cursor");
+      }
+    }
+
+    List<Tuple> rows = new ArrayList<>(userRepository.findWindow(
+        spec, querySort, 0, size + 1, projectedAttributes(fieldSet, keysetSort)));
+    stage = metrics.record(LIST_ENDPOINT, "query", stage);
+    boolean hasMore = rows.size() > size;
+    if (hasMore) {
+      rows.remove(size);
     }
-    if (pageIndex + 1 > 1) {
-      body.add(Link.of(buildPageUrl(request, pageIndex, size), "prev"));
+    if (backward) {
+      Collections.reverse(rows);
+    }
+    boolean hasNext = backward || hasMore;
+    boolean hasPrev = backward ? hasMore : !token.isEmpty();
+
+    String next = null;
+    String prev = null;
+    if (!rows.isEmpty()) {
+      if (hasNext) {
+        next = cursorCodec.encode(new Cursor(Cursor.Direction.NEXT, fingerprint,
+            Keyset.keysOf(keysetSort, rows.getLast()::get)));
+      }
+      if (hasPrev) {
+        prev = cursorCodec.encode(new Cursor(Cursor.Direction.PREV, fingerprint,
+            Keyset.keysOf(keysetSort, rows.getFirst()::get)));
+      }
+    }
+
+    List<UserResponse> items = toModels(rows, fieldSet);
+    stage = metrics.record(LIST_ENDPOINT, "assembly", stage);
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.add("X-Pagination", toJson(new CursorPaginationInfo(size, next, prev)));
+
+    PaginationLinks links = PaginationLinks.from(request)
+        .cursor("self", token, size)
+        .cursor("first", "", size);
+    if (prev != null) {
+      links.cursor("prev", prev, size);
     }
-    if (pageIndex + 1 < totalPage) {
-      body.add(Link.of(buildPageUrl(request, pageIndex + 2, size), "next"));
+    if (next != null) {
+      links.cursor("next", next, size);
     }
 
+    PagedModel<UserResponse> body = PagedModel.of(items, (PagedModel.PageMetadata) null);
+    links.applyTo(headers, body);
+    metrics.record(LIST_ENDPOINT, "links", stage);
+
     return ResponseEntity.ok().headers(headers).body(body);
   }
 
+  private Set<String> projectedAttributes(FieldSet fieldSet, Sort sort) {
+    if (fieldSet.isAll()) {
+      return LIST_ATTRIBUTES;
+    }
+    Set<String> attributes = new LinkedHashSet<>();
+    attributes.add("id");
+    for (String field : fieldSet.names()) {
+      if (LIST_ATTRIBUTES.contains(field)) {
+        attributes.add(field);
+      }
+    }
+    for (Sort.Order order : sort) {
+      attributes.add(order.getProperty());
+    }
+    return attributes;
+  }
+
+  private List<UserResponse> toModels(List<Tuple> rows, FieldSet fieldSet) {
+    boolean withLinks = fieldSet.includes("_links");
+    List<UserResponse> items = new ArrayList<>(rows.size());
+    for (Tuple row : rows) {
+      UserResponse item = assembler.toModel(row);
+      if (withLinks) {
+        assembler.addMethodLinks(item);
+      }
+      items.add(item);
+    }
+    return items;
+  }
+
   @GetMapping("/{id}")
-  public ResponseEntity<UserResponse> get(@PathVariable("id") long id) {
-    User user = userRepository.findById(id)
+  public ResponseEntity<UserResponse> get(
+      @PathVariable("id") long id,
+      @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    if (ifNoneMatch != null) {
+      String current = userCache.findVersionById(id)
+          .map(EntityTags::of)
+          .orElseThrow(() -> new NotFoundException("User not found"));
+      if (!EntityTags.noneMatch(ifNoneMatch, current)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+      }
+    }
+    long stage = metrics.start();
+    User user = userCache.findById(id)
         .orElseThrow(() -> new NotFoundException("User not found"));
+    stage = metrics.record(GET_ENDPOINT, "query", stage);
     UserResponse dto = assembler.toModel(user);
-    attachMethodLinks(dto);
+    stage = metrics.record(GET_ENDPOINT, "assembly", stage);
+    assembler.addMethodLinks(dto);
 
     HttpHeaders headers = new HttpHeaders();
-    headers.add(HttpHeaders.LINK, formatLink(WebMvcLinkBuilder.linkTo(
-            WebMvcLinkBuilder.methodOn(UserController.class).get(dto.getId())).toUri()
-        .toString(), "self"));
+    headers.add(HttpHeaders.LINK, formatLink(SELF.expand(dto.getId()), "self"));
+    metrics.record(GET_ENDPOINT, "links", stage);
 
-    return ResponseEntity.ok().headers(headers).body(dto);
+    return ResponseEntity.ok().headers(headers).eTag(EntityTags.of(user.getVersion())).body(dto);
   }
 
   @PostMapping
-  public ResponseEntity<UserResponse> create(
-      @RequestBody UserCreateRequest payload,
-      HttpServletRequest request) {
+  public ResponseEntity<UserResponse> create(@RequestBody UserCreateRequest payload) {
     if (payload == null) {
       throw new BadRequestException("Body is required");
     }
@@ -155,192 +389,129 @@ public class UserController {
     User saved = userRepository.save(user);
 
     UserResponse dto = assembler.toModel(saved);
-    attachMethodLinks(dto);
+    assembler.addMethodLinks(dto);
 
-    String selfUrl = buildEntityUrl(request, saved.getId());
+    String selfUrl = SELF.expand(saved.getId());
     HttpHeaders headers = new HttpHeaders();
     headers.add(HttpHeaders.LOCATION, selfUrl);
     headers.add(HttpHeaders.LINK, formatLink(selfUrl, "self"));
 
-    return ResponseEntity.status(201).headers(headers).body(dto);
+    return ResponseEntity.status(201).headers(headers).eTag(EntityTags.of(saved.getVersion()))
+        .body(dto);
   }
 
   @PatchMapping(path = "/{id}", consumes = "application/json-patch+json")
   public ResponseEntity<Object> patch(
       @PathVariable("id") long id,
       @RequestBody JsonNode patch,
-      HttpServletRequest request) {
-    User user = userRepository.findById(id)
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    User user = findForUpdate(id);
+    checkIfMatch(ifMatch, user);
+    return savePatched(user, PATCH_PLAN.apply(patch, user, objectMapper), ifMatch);
+  }
+
+  @PatchMapping(path = "/{id}", consumes = "application/merge-patch+json")
+  public ResponseEntity<Object> mergePatch(
+      @PathVariable("id") long id,
+      @RequestBody JsonNode patch,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    User user = findForUpdate(id);
+    checkIfMatch(ifMatch, user);
+    return savePatched(user, PATCH_PLAN.applyMerge(patch, user, objectMapper), ifMatch);
+  }
+
+  // The version checked against If-Match must come from the primary; a lagging replica would
+  // answer 412 for a current tag or hand the optimistic lock a stale version.
+  private User findForUpdate(long id) {
+    ReadYourWrites.pinToPrimary();
+    return userRepository.findById(id)
         .orElseThrow(() -> new NotFoundException("User not found"));
-    validatePatchAllowed(patch);
-    User patched = applyPatch(patch, user);
-    User saved = userRepository.save(patched);
+  }
+
+  private ResponseEntity<Object> savePatched(User user, Set<String> changed, String ifMatch) {
+    User saved = user;
+    if (!changed.isEmpty()) {
+      if (trimToNull(user.getUsername()) == null || trimToNull(user.getEmail()) == null) {
+        throw new BadRequestException("username and email are required");
+      }
+      saved = saveChecked(user, ifMatch);
+      userCache.put(saved);
+    }
 
     UserResponse dto = assembler.toModel(saved);
-    attachMethodLinks(dto);
+    assembler.addMethodLinks(dto);
 
-    String selfUrl = buildEntityUrl(request, saved.getId());
+    String selfUrl = SELF.expand(saved.getId());
     HttpHeaders headers = new HttpHeaders();
     headers.add(HttpHeaders.LINK, formatLink(selfUrl, "self"));
 
-    return ResponseEntity.ok().headers(headers).body(dto);
+    return ResponseEntity.ok().headers(headers).eTag(EntityTags.of(saved.getVersion())).body(dto);
   }
 
   @DeleteMapping("/{id}")
   public ResponseEntity<Object> delete(@PathVariable("id") long id) {
-    User user = userRepository.findById(id)
-        .orElseThrow(() -> new NotFoundException("User not found"));
-    userRepository.delete(user);
+    int deleted = userRepository.deleteRowById(id);
+    userCache.evict(id);
+    if (deleted == 0) {
+      throw new NotFoundException("User not found");
+    }
     return ResponseEntity.noContent().build();
   }
 
   @PostMapping("/{id}:enable")
-  public ResponseEntity<UserResponse> enable(@PathVariable("id") long id) {
-    User user = userRepository.findById(id)
-        .orElseThrow(() -> new NotFoundException("User not found"));
-    user.setStatus(UserStatusEnum.ENABLED);
-    User saved = userRepository.save(user);
-
-    UserResponse dto = assembler.toModel(saved);
-    attachMethodLinks(dto);
-
-    HttpHeaders headers = new HttpHeaders();
-
-    return ResponseEntity.ok().headers(headers).body(dto);
+  public ResponseEntity<UserResponse> enable(
+      @PathVariable("id") long id,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    return changeStatus(id, ifMatch, UserStatusEnum.ENABLED);
   }
 
   @PostMapping("/{id}:disable")
-  public ResponseEntity<UserResponse> disable(@PathVariable("id") long id) {
-    User user = userRepository.findById(id)
-        .orElseThrow(() -> new NotFoundException("User not found"));
-    user.setStatus(UserStatusEnum.DISABLED);
-    User saved = userRepository.save(user);
-
-    UserResponse dto = assembler.toModel(saved);
-    attachMethodLinks(dto);
-
-    HttpHeaders headers = new HttpHeaders();
-
-    return ResponseEntity.ok().headers(headers).body(dto);
+  public ResponseEntity<UserResponse> disable(
+      @PathVariable("id") long id,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    return changeStatus(id, ifMatch, UserStatusEnum.DISABLED);
   }
 
-  private Set<String> allowedOrderFields() {
-    return Set.of("id", "username", "email", "status", "createdAt");
-  }
+  private ResponseEntity<UserResponse> changeStatus(
+      long id, String ifMatch, UserStatusEnum status) {
+    List<Long> expectedVersions = EntityTags.versions(ifMatch);
+    User saved = userRepository.updateStatus(id, status, expectedVersions)
+        .orElseThrow(() -> expectedVersions != null && userRepository.existsById(id)
+            ? new PreconditionFailedException("User has been modified")
+            : new NotFoundException("User not found"));
+    userCache.put(saved);
 
-  private Set<String> allowedPatchFields() {
-    return Set.of("username", "email");
-  }
+    UserResponse dto = assembler.toModel(saved);
+    assembler.addMethodLinks(dto);
 
-  private String toJson(PagedModel.PageMetadata pagination) {
-    try {
-      return objectMapper.writeValueAsString(pagination);
-    } catch (JacksonException e) {
-      throw new RuntimeException("Failed to encode pagination info", e);
-    }
+    return ResponseEntity.ok().eTag(EntityTags.of(saved.getVersion())).body(dto);
   }
 
-  private User applyPatch(JsonNode patch, User target) {
+  // A writer that commits between checkIfMatch and the update trips the version check; with
+  // If-Match the client asked for a precondition, which no longer holds.
+  private User saveChecked(User user, String ifMatch) {
     try {
-      JsonNode targetNode = objectMapper.convertValue(target, JsonNode.class);
-      JsonNode patchedNode = Jackson3JsonPatch.apply(patch, targetNode);
-      return objectMapper.treeToValue(patchedNode, User.class);
-    } catch (JacksonException e) {
-      throw new BadRequestException("Invalid JSON Patch");
-    }
-  }
-
-  private void validatePatchAllowed(JsonNode patch) {
-    if (patch == null || !patch.isArray()) {
-      throw new BadRequestException("Invalid JSON Patch");
-    }
-    for (JsonNode op : patch) {
-      JsonNode pathNode = op.get("path");
-      if (pathNode == null || pathNode.isNull()) {
-        throw new BadRequestException("Invalid JSON Patch");
-      }
-      String path = pathNode.asText();
-      if (path == null || !path.startsWith("/")) {
-        throw new BadRequestException("Invalid JSON Patch");
-      }
-      String field = path.substring(1).split("/", 2)[0];
-      if (!allowedPatchFields().contains(field)) {
-        throw new BadRequestException("Patch not allowed for field: " + field);
+      return userRepository.save(user);
+    } catch (OptimisticLockingFailureException e) {
+      if (ifMatch != null) {
+        throw new PreconditionFailedException("User has been modified");
       }
+      throw e;
     }
   }
 
-  private void attachMethodLinks(UserResponse dto) {
-    String selfHref = WebMvcLinkBuilder.linkTo(
-            WebMvcLinkBuilder.methodOn(UserController.class).get(dto.getId()))
-        .toUri()
-        .toString();
-    String patchHref = WebMvcLinkBuilder.linkTo(
-            WebMvcLinkBuilder.methodOn(UserController.class).patch(dto.getId(), null, null))
-        .toUri()
-        .toString();
-    String deleteHref = WebMvcLinkBuilder.linkTo(
-            WebMvcLinkBuilder.methodOn(UserController.class).delete(dto.getId()))
-        .toUri()
-        .toString();
-    String enableHref = WebMvcLinkBuilder.linkTo(
-            WebMvcLinkBuilder.methodOn(UserController.class).enable(dto.getId()))
-        .toUri()
-        .toString();
-    String disableHref = WebMvcLinkBuilder.linkTo(
-            WebMvcLinkBuilder.methodOn(UserController.class).disable(dto.getId()))
-        .toUri()
-        .toString();
-
-    dto.add(MethodLink.of(selfHref, "self", "GET"));
-    dto.add(MethodLink.of(patchHref, "patch", "PATCH"));
-    dto.add(MethodLink.of(deleteHref, "delete", "DELETE"));
-    dto.add(MethodLink.of(enableHref, "enable", "POST"));
-    dto.add(MethodLink.of(disableHref, "disable", "POST"));
-  }
-
-  private String buildEntityUrl(HttpServletRequest request, Object id) {
-    return ServletUriComponentsBuilder.fromRequestUri(request)
-        .replacePath("/users/" + id)
-        .replaceQuery(null)
-        .toUriString();
-  }
-
-  private String buildPaginationLinks(
-      HttpServletRequest request, int page, int pageSize, long totalPage) {
-    if (totalPage == 0) {
-      return "";
-    }
-    int lastPage = (int) totalPage;
-    List<String> links = new ArrayList<>();
-
-    String self = buildPageUrl(request, page, pageSize);
-    links.add(formatLink(self, "self"));
-
-    String first = buildPageUrl(request, 1, pageSize);
-    links.add(formatLink(first, "first"));
-
-    if (page > 1) {
-      String prev = buildPageUrl(request, page - 1, pageSize);
-      links.add(formatLink(prev, "prev"));
-    }
-
-    if (page < lastPage) {
-      String next = buildPageUrl(request, page + 1, pageSize);
-      links.add(formatLink(next, "next"));
+  private void checkIfMatch(String ifMatch, User user) {
+    if (ifMatch != null && !EntityTags.match(ifMatch, EntityTags.of(user.getVersion()))) {
+      throw new PreconditionFailedException("User has been modified");
     }
-
-    String last = buildPageUrl(request, lastPage, pageSize);
-    links.add(formatLink(last, "last"));
-
-    return String.join(", ", links);
   }
 
-  private String buildPageUrl(HttpServletRequest request, int page, int pageSize) {
-    return ServletUriComponentsBuilder.fromRequest(request)
-        .replaceQueryParam("page", page)
-        .replaceQueryParam("pageSize", pageSize)
-        .toUriString();
+  private String toJson(Object pagination) {
+    try {
+      return objectMapper.writeValueAsString(pagination);
+    } catch (JacksonException e) {
+      throw new RuntimeException("Failed to encode pagination info", e);
+    }
   }
 
   private String formatLink(String url, String rel) {
@@ -0,0 +1,39 @@
+package io.vacivor.restful.controller;
+
+import io.vacivor.restful.common.exception.BadRequestException;
+import io.vacivor.restful.common.filtering.FilterField;
+import io.vacivor.restful.common.filtering.FilterPlan;
+import io.vacivor.restful.common.ordering.OrderingPlan;
+import io.vacivor.restful.common.ordering.SpringDataOrderingAdapter;
+import io.vacivor.restful.domain.User;
+import io.vacivor.restful.domain.UserStatusEnum;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+
+/**
+ * The {@code orderBy} and {@code filter} allowlists shared by the users endpoints and the
+ * schema checks that back them with indexes.
+ */
+public final class UserQueryParameters {
+
+  public static final OrderingPlan<Sort, Sort.Order> ORDERING = OrderingPlan.compile(
+      new SpringDataOrderingAdapter(), List.of("id", "username", "email", "status", "createdAt"));
+
+  public static final FilterPlan<User> FILTERING = FilterPlan.compile(List.of(
+      FilterField.equality("status", value -> UserStatusEnum.fromCode(Integer.valueOf(value))),
+      FilterField.prefix("username"),
+      FilterField.prefix("email"),
+      FilterField.range("createdAt", OffsetDateTime::parse)));
+
+  private UserQueryParameters() {
+  }
+
+  public static FilterPlan.Filter<User> parseFilter(String filter) {
+    try {
+      return FILTERING.parse(filter);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException(e.getMessage());
+    }
+  }
+}
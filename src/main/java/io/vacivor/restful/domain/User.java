@@ -6,15 +6,25 @@ import jakarta.persistence.Convert;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.OffsetDateTime;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+@DynamicUpdate
 @Table(name = "users")
 public class User {
 
+  public static final String ID_SEQUENCE = "users_seq";
+  public static final int ID_ALLOCATION_SIZE = 50;
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(
+      name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
   private Long id;
 
   @Column(nullable = false, length = 64)
@@ -30,6 +40,11 @@ public class User {
   @Column(nullable = false)
   private OffsetDateTime createdAt = OffsetDateTime.now();
 
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private Long version;
+
   public Long getId() {
     return id;
   }
@@ -69,4 +84,23 @@ public class User {
   public void setCreatedAt(OffsetDateTime createdAt) {
     this.createdAt = createdAt;
   }
+
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
+  public User copy() {
+    User copy = new User();
+    copy.id = id;
+    copy.username = username;
+    copy.email = email;
+    copy.status = status;
+    copy.createdAt = createdAt;
+    copy.version = version;
+    return copy;
+  }
 }
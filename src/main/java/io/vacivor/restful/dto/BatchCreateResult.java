@@ -0,0 +1,19 @@
+package io.vacivor.restful.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchCreateResult(int index, int status, UserResponse user, String error) {
+
+  public static BatchCreateResult created(int index, UserResponse user) {
+    return new BatchCreateResult(index, 201, user, null);
+  }
+
+  public static BatchCreateResult rejected(int index, String error) {
+    return new BatchCreateResult(index, 400, null, error);
+  }
+
+  public static BatchCreateResult conflict(int index, String error) {
+    return new BatchCreateResult(index, 409, null, error);
+  }
+}
@@ -0,0 +1,16 @@
+package io.vacivor.restful.dto;
+
+import java.util.List;
+
+public record ImportReport(
+    long received,
+    long imported,
+    long rejected,
+    long elapsedMillis,
+    double rowsPerSecond,
+    List<LineError> errors,
+    boolean errorsTruncated) {
+
+  public record LineError(long line, String message) {
+  }
+}
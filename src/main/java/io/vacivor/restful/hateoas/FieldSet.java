@@ -0,0 +1,85 @@
+package io.vacivor.restful.hateoas;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public final class FieldSet {
+
+  private static final int MAX_CACHED = 1024;
+  private static final FieldSet ALL = new FieldSet(Set.of());
+  private static final ConcurrentMap<String, FieldSet> CACHE = new ConcurrentHashMap<>();
+
+  private final Set<String> names;
+  private final ConcurrentMap<Class<?>, ShapePlan> plans = new ConcurrentHashMap<>();
+
+  private FieldSet(Set<String> names) {
+    this.names = names;
+  }
+
+  public static FieldSet all() {
+    return ALL;
+  }
+
+  public static FieldSet parse(String fields) {
+    if (fields == null || fields.isBlank()) {
+      return ALL;
+    }
+    FieldSet cached = CACHE.get(fields);
+    if (cached != null) {
+      return cached;
+    }
+    FieldSet parsed = doParse(fields);
+    if (CACHE.size() < MAX_CACHED) {
+      FieldSet existing = CACHE.putIfAbsent(fields, parsed);
+      if (existing != null) {
+        return existing;
+      }
+    }
+    return parsed;
+  }
+
+  private static FieldSet doParse(String fields) {
+    Set<String> result = new LinkedHashSet<>();
+    for (String raw : fields.split(",")) {
+      String v = raw.trim();
+      if (!v.isEmpty()) {
+        result.add(v);
+      }
+    }
+    if (result.isEmpty()) {
+      return ALL;
+    }
+    if (result.contains("_links")) {
+      result.add("links");
+    }
+    return new FieldSet(Collections.unmodifiableSet(result));
+  }
+
+  public boolean isAll() {
+    return names.isEmpty();
+  }
+
+  public boolean includes(String name) {
+    return names.isEmpty() || names.contains(name);
+  }
+
+  public Set<String> names() {
+    return names;
+  }
+
+  public ShapePlan planFor(Class<?> type) {
+    ShapePlan plan = plans.get(type);
+    if (plan == null) {
+      plan = plans.computeIfAbsent(type, t -> ShapePlan.compile(t, this));
+    }
+    return plan;
+  }
+
+  @Override
+  public String toString() {
+    return isAll() ? "FieldSet{*}" : "FieldSet" + names;
+  }
+}
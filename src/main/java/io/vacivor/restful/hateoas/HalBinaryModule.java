@@ -0,0 +1,119 @@
+package io.vacivor.restful.hateoas;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+import org.springframework.http.MediaType;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+import tools.jackson.databind.module.SimpleModule;
+
+public class HalBinaryModule extends SimpleModule {
+
+  public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+  public static final MediaType HAL_CBOR = new MediaType("application", "hal+cbor");
+  public static final MediaType HAL_SMILE = new MediaType("application", "hal+smile");
+
+  public HalBinaryModule() {
+    super("hal-binary");
+    setMixInAnnotation(RepresentationModel.class, RepresentationModelMixin.class);
+    setMixInAnnotation(CollectionModel.class, CollectionModelMixin.class);
+  }
+
+  abstract static class RepresentationModelMixin {
+
+    @JsonProperty("_links")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    @JsonSerialize(using = LinksSerializer.class)
+    abstract Links getLinks();
+  }
+
+  abstract static class CollectionModelMixin {
+
+    @JsonProperty("_embedded")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    @JsonSerialize(using = EmbeddedSerializer.class)
+    abstract Collection<?> getContent();
+  }
+
+  static class LinksSerializer extends ValueSerializer<Links> {
+
+    @Override
+    public boolean isEmpty(SerializationContext ctxt, Links links) {
+      return links == null || links.isEmpty();
+    }
+
+    @Override
+    public void serialize(Links links, JsonGenerator gen, SerializationContext ctxt) {
+      Map<String, List<Link>> byRel = new LinkedHashMap<>();
+      for (Link link : links) {
+        byRel.computeIfAbsent(link.getRel().value(), rel -> new ArrayList<>(1)).add(link);
+      }
+      gen.writeStartObject();
+      for (Map.Entry<String, List<Link>> entry : byRel.entrySet()) {
+        gen.writeName(entry.getKey());
+        List<Link> rel = entry.getValue();
+        if (rel.size() == 1) {
+          writeLink(rel.getFirst(), gen);
+          continue;
+        }
+        gen.writeStartArray();
+        for (Link link : rel) {
+          writeLink(link, gen);
+        }
+        gen.writeEndArray();
+      }
+      gen.writeEndObject();
+    }
+
+    private void writeLink(Link link, JsonGenerator gen) {
+      gen.writeStartObject();
+      gen.writeStringProperty("href", link.getHref());
+      if (link instanceof MethodLink methodLink && methodLink.getMethod() != null) {
+        gen.writeStringProperty("method", methodLink.getMethod());
+      }
+      gen.writeEndObject();
+    }
+  }
+
+  static class EmbeddedSerializer extends ValueSerializer<Collection<?>> {
+
+    @Override
+    public boolean isEmpty(SerializationContext ctxt, Collection<?> content) {
+      return content == null || content.isEmpty();
+    }
+
+    @Override
+    public void serialize(Collection<?> content, JsonGenerator gen, SerializationContext ctxt) {
+      gen.writeStartObject();
+      gen.writeName(collectionRelation(content.iterator().next()));
+      gen.writeStartArray();
+      for (Object item : content) {
+        gen.writePOJO(item);
+      }
+      gen.writeEndArray();
+      gen.writeEndObject();
+    }
+
+    private String collectionRelation(Object item) {
+      Relation relation =
+          AnnotatedElementUtils.findMergedAnnotation(item.getClass(), Relation.class);
+      if (relation != null && !relation.collectionRelation().isEmpty()) {
+        return relation.collectionRelation();
+      }
+      return "content";
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package io.vacivor.restful.hateoas;
+
+import java.lang.reflect.Method;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+public final class LinkTemplate {
+
+  private static final String BASE_URI_ATTRIBUTE = LinkTemplate.class.getName() + ".BASE_URI";
+
+  private final String prefix;
+  private final String suffix;
+  private final String method;
+
+  private LinkTemplate(String prefix, String suffix, String method) {
+    this.prefix = prefix;
+    this.suffix = suffix;
+    this.method = method;
+  }
+
+  public static LinkTemplate of(Class<?> controller, String methodName) {
+    RequestMapping typeMapping =
+        AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class);
+    RequestMapping methodMapping = null;
+    for (Method candidate : controller.getMethods()) {
+      if (candidate.getName().equals(methodName)) {
+        methodMapping = AnnotatedElementUtils.findMergedAnnotation(candidate, RequestMapping.class);
+        if (methodMapping != null) {
+          break;
+        }
+      }
+    }
+    if (methodMapping == null) {
+      throw new IllegalArgumentException(
+          "No request mapping for " + controller.getSimpleName() + "." + methodName);
+    }
+    String path = join(firstPath(typeMapping), firstPath(methodMapping));
+    RequestMethod[] methods = methodMapping.method();
+    String httpMethod = methods.length == 0 ? "GET" : methods[0].name();
+
+    int open = path.indexOf('{');
+    if (open < 0) {
+      return new LinkTemplate(path, "", httpMethod);
+    }
+    int close = path.indexOf('}', open);
+    if (close < 0 || path.indexOf('{', close) >= 0) {
+      throw new IllegalArgumentException("Only single-variable templates are supported: " + path);
+    }
+    return new LinkTemplate(path.substring(0, open), path.substring(close + 1), httpMethod);
+  }
+
+  public String expand(Object id) {
+    return expand(currentBaseUri(), id);
+  }
+
+  public String expand(String baseUri, Object id) {
+    return baseUri + prefix + id + suffix;
+  }
+
+  public MethodLink toLink(String baseUri, Object id, String rel) {
+    return MethodLink.of(expand(baseUri, id), rel, method);
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public static String currentBaseUri() {
+    RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+    Object cached = attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (cached instanceof String baseUri) {
+      return baseUri;
+    }
+    String baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString();
+    attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+    return baseUri;
+  }
+
+  private static String firstPath(RequestMapping mapping) {
+    if (mapping == null || mapping.path().length == 0) {
+      return "";
+    }
+    return mapping.path()[0];
+  }
+
+  private static String join(String typePath, String methodPath) {
+    if (methodPath.isEmpty()) {
+      return typePath;
+    }
+    if (typePath.endsWith("/") || methodPath.startsWith("/")) {
+      return typePath + methodPath;
+    }
+    return typePath + "/" + methodPath;
+  }
+}
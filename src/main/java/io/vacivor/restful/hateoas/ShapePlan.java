@@ -0,0 +1,66 @@
+package io.vacivor.restful.hateoas;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.BeanUtils;
+
+public final class ShapePlan {
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  private final List<Property> properties;
+
+  private ShapePlan(List<Property> properties) {
+    this.properties = properties;
+  }
+
+  static ShapePlan compile(Class<?> type, FieldSet fields) {
+    boolean halLinks = fields.names().contains("_links");
+    List<Property> properties = new ArrayList<>();
+    for (String name : fields.names()) {
+      if ("links".equals(name) && halLinks) {
+        continue;
+      }
+      String propertyName = "_links".equals(name) ? "links" : name;
+      PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, propertyName);
+      if (descriptor == null || descriptor.getReadMethod() == null
+          || "class".equals(propertyName)) {
+        continue;
+      }
+      properties.add(new Property(name, "links".equals(propertyName),
+          unreflect(descriptor.getReadMethod())));
+    }
+    return new ShapePlan(List.copyOf(properties));
+  }
+
+  public List<Property> properties() {
+    return properties;
+  }
+
+  private static MethodHandle unreflect(Method method) {
+    try {
+      method.trySetAccessible();
+      return MethodHandles.lookup().unreflect(method).asType(GETTER_TYPE);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("Cannot access " + method, e);
+    }
+  }
+
+  public record Property(String name, boolean links, MethodHandle getter) {
+
+    public Object read(Object bean) {
+      try {
+        return (Object) getter.invokeExact(bean);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new IllegalStateException("Failed to read property " + name, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package io.vacivor.restful.repository;
+
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Moves a pooled id sequence past the highest existing id before the application takes
+ * traffic. Databases that predate the sequence (identity ids, or a sequence created at 1 by
+ * {@code ddl-auto}) would otherwise hand out ids that collide with existing rows.
+ */
+public class IdSequenceGuard implements SmartInitializingSingleton {
+
+  private static final Logger log = LoggerFactory.getLogger(IdSequenceGuard.class);
+
+  private final DataSource dataSource;
+  private final String sequence;
+  private final String advance;
+
+  public IdSequenceGuard(DataSource dataSource, String table, String idColumn, String sequence) {
+    this.dataSource = dataSource;
+    this.sequence = sequence;
+    this.advance = """
+        select setval('%1$s', m.max_id)
+        from (select max(%3$s) as max_id from %2$s) m
+        where m.max_id is not null
+          and m.max_id > (select last_value from %1$s)
+        """.formatted(sequence, table, idColumn);
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    String product = jdbc.execute(
+        (ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+    if (!"PostgreSQL".equals(product)) {
+      return;
+    }
+    Boolean exists = jdbc.queryForObject(
+        "select to_regclass(?) is not null", Boolean.class, sequence);
+    if (!Boolean.TRUE.equals(exists)) {
+      return;
+    }
+    for (Long value : jdbc.queryForList(advance, Long.class)) {
+      log.warn("Moved sequence {} past existing ids to {}", sequence, value);
+    }
+  }
+}
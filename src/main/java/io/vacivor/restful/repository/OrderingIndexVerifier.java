@@ -0,0 +1,89 @@
+package io.vacivor.restful.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class OrderingIndexVerifier implements ApplicationRunner {
+
+  private static final Logger log = LoggerFactory.getLogger(OrderingIndexVerifier.class);
+
+  private static final String INDEX_KEYS = """
+      select lead.attname as lead_column, next.attname as next_column
+      from pg_index i
+      join pg_attribute lead on lead.attrelid = i.indrelid and lead.attnum = i.indkey[0]
+      left join pg_attribute next on next.attrelid = i.indrelid and next.attnum = i.indkey[1]
+      where i.indrelid = to_regclass(?) and i.indisvalid
+      """;
+
+  private final DataSource dataSource;
+  private final String table;
+  private final String idColumn;
+  private final Collection<String> properties;
+
+  public OrderingIndexVerifier(
+      DataSource dataSource, String table, String idColumn, Collection<String> properties) {
+    this.dataSource = dataSource;
+    this.table = table;
+    this.idColumn = idColumn;
+    this.properties = properties;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws SQLException {
+    if (!isPostgres()) {
+      log.info("Skipping ordering index verification: not a PostgreSQL database");
+      return;
+    }
+    Set<String> leads = new HashSet<>();
+    Set<String> keysets = new HashSet<>();
+    new JdbcTemplate(dataSource).query(INDEX_KEYS, row -> {
+      String lead = row.getString("lead_column");
+      leads.add(lead);
+      keysets.add(lead + "," + row.getString("next_column"));
+    }, table);
+
+    List<String> missing = new ArrayList<>();
+    for (String property : properties) {
+      String column = columnName(property);
+      boolean supported = column.equals(idColumn)
+          ? leads.contains(idColumn)
+          : keysets.contains(column + "," + idColumn);
+      if (!supported) {
+        missing.add(property + " (" + column + ", " + idColumn + ")");
+      }
+    }
+    if (!missing.isEmpty()) {
+      throw new IllegalStateException(
+          "No supporting index on " + table + " for orderBy fields: " + missing);
+    }
+  }
+
+  private boolean isPostgres() throws SQLException {
+    try (Connection connection = dataSource.getConnection()) {
+      return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+    }
+  }
+
+  private static String columnName(String property) {
+    StringBuilder column = new StringBuilder(property.length() + 4);
+    for (int i = 0; i < property.length(); i++) {
+      char c = property.charAt(i);
+      if (Character.isUpperCase(c) && i > 0) {
+        column.append('_');
+      }
+      column.append(Character.toLowerCase(c));
+    }
+    return column.toString();
+  }
+}
@@ -0,0 +1,97 @@
+package io.vacivor.restful.repository;
+
+import io.vacivor.restful.common.csv.Csv;
+import io.vacivor.restful.domain.User;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class UserBulkLoader {
+
+  private static final String COPY_USERS =
+      "copy users (id, username, email, status, created_at, version) from stdin with (format csv)";
+  private static final String NEXT_ID_BLOCKS =
+      "select nextval('" + User.ID_SEQUENCE + "') from generate_series(1, ?)";
+
+  private final DataSource dataSource;
+  private final UserRepository userRepository;
+  private final SQLExceptionTranslator exceptionTranslator;
+
+  public UserBulkLoader(DataSource dataSource, UserRepository userRepository) {
+    this.dataSource = dataSource;
+    this.userRepository = userRepository;
+    this.exceptionTranslator = new SQLErrorCodeSQLExceptionTranslator(dataSource);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void load(List<User> users) {
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    try {
+      if (!connection.isWrapperFor(PGConnection.class)) {
+        userRepository.insertAll(users, users.size());
+        return;
+      }
+      assignIds(connection, users);
+      StringBuilder rows = new StringBuilder(users.size() * 96);
+      for (User user : users) {
+        rows.append(user.getId()).append(',');
+        Csv.writeCell(rows, user.getUsername());
+        rows.append(',');
+        Csv.writeCell(rows, user.getEmail());
+        rows.append(',').append(user.getStatus().getCode())
+            .append(',').append(user.getCreatedAt())
+            .append(",0\n");
+        user.setVersion(0L);
+      }
+      connection.unwrap(PGConnection.class).getCopyAPI()
+          .copyIn(COPY_USERS, new StringReader(rows.toString()));
+    } catch (SQLException e) {
+      DataAccessException translated = exceptionTranslator.translate("COPY into users", null, e);
+      throw translated != null
+          ? translated
+          : new DataAccessResourceFailureException("COPY into users failed", e);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+  }
+
+  private void assignIds(Connection connection, List<User> users) throws SQLException {
+    int blocks = users.size() / User.ID_ALLOCATION_SIZE + 2;
+    int next = 0;
+    try (PreparedStatement statement = connection.prepareStatement(NEXT_ID_BLOCKS)) {
+      statement.setInt(1, blocks);
+      try (ResultSet blockEnds = statement.executeQuery()) {
+        while (blockEnds.next() && next < users.size()) {
+          long hi = blockEnds.getLong(1);
+          if (hi < User.ID_ALLOCATION_SIZE) {
+            continue;
+          }
+          for (long id = hi - User.ID_ALLOCATION_SIZE + 1; id <= hi && next < users.size(); id++) {
+            users.get(next++).setId(id);
+          }
+        }
+      }
+    }
+    if (next < users.size()) {
+      throw new IllegalStateException("Could not reserve ids for " + users.size() + " users");
+    }
+  }
+}
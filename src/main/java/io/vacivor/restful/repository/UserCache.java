@@ -0,0 +1,70 @@
+package io.vacivor.restful.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.vacivor.restful.common.jdbc.ReadYourWrites;
+import io.vacivor.restful.config.UserCacheProperties;
+import io.vacivor.restful.domain.User;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserCache implements MeterBinder {
+
+  private final UserRepository userRepository;
+  private final Cache<Long, User> cache;
+
+  public UserCache(UserRepository userRepository, UserCacheProperties properties) {
+    this.userRepository = userRepository;
+    this.cache = properties.enabled()
+        ? Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.ttl())
+            .recordStats()
+            .build()
+        : null;
+  }
+
+  public Optional<User> findById(long id) {
+    if (cache == null) {
+      return userRepository.findById(id);
+    }
+    // Only the primary fills the cache: a row read from a lagging replica, possibly already
+    // deleted, would otherwise be served (and its version used as ETag) for the whole TTL.
+    User cached = cache.get(id, key -> ReadYourWrites.onPrimary(
+        () -> userRepository.findById(key).map(User::copy).orElse(null)));
+    return Optional.ofNullable(cached).map(User::copy);
+  }
+
+  public Optional<Long> findVersionById(long id) {
+    if (cache != null) {
+      User cached = cache.getIfPresent(id);
+      if (cached != null) {
+        return Optional.ofNullable(cached.getVersion());
+      }
+    }
+    return userRepository.findVersionById(id);
+  }
+
+  public void put(User user) {
+    if (cache != null && user.getId() != null) {
+      cache.put(user.getId(), user.copy());
+    }
+  }
+
+  public void evict(long id) {
+    if (cache != null) {
+      cache.invalidate(id);
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (cache != null) {
+      CaffeineCacheMetrics.monitor(registry, cache, "users");
+    }
+  }
+}
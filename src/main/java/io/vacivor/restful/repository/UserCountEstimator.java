@@ -0,0 +1,63 @@
+package io.vacivor.restful.repository;
+
+import io.vacivor.restful.config.PaginationProperties;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserCountEstimator {
+
+  private final Logger log = LoggerFactory.getLogger(UserCountEstimator.class);
+
+  private final UserRepository userRepository;
+  private final long refreshNanos;
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+  private volatile boolean statisticsUnavailable;
+  private volatile Snapshot snapshot;
+
+  public UserCountEstimator(UserRepository userRepository, PaginationProperties properties) {
+    this.userRepository = userRepository;
+    Duration refresh = properties.estimateRefresh();
+    this.refreshNanos = refresh == null ? 0 : refresh.toNanos();
+  }
+
+  public long estimate() {
+    Snapshot current = snapshot;
+    if (current == null) {
+      return refresh();
+    }
+    if (System.nanoTime() - current.takenAt() > refreshNanos
+        && refreshing.compareAndSet(false, true)) {
+      try {
+        return refresh();
+      } finally {
+        refreshing.set(false);
+      }
+    }
+    return current.count();
+  }
+
+  private long refresh() {
+    long count = -1;
+    if (!statisticsUnavailable) {
+      try {
+        count = userRepository.estimateCount();
+      } catch (DataAccessException e) {
+        statisticsUnavailable = true;
+        log.info("Planner statistics unavailable, estimating users with a cached count: {}",
+            e.getMessage());
+      }
+    }
+    if (count <= 0) {
+      count = userRepository.count();
+    }
+    snapshot = new Snapshot(count, System.nanoTime());
+    return count;
+  }
+
+  private record Snapshot(long count, long takenAt) {}
+}
@@ -0,0 +1,26 @@
+package io.vacivor.restful.repository;
+
+import io.vacivor.restful.domain.User;
+import io.vacivor.restful.domain.UserStatusEnum;
+import jakarta.persistence.Tuple;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface UserQueries {
+
+  List<Tuple> findWindow(
+      Specification<User> spec, Sort sort, long offset, int limit, Collection<String> attributes);
+
+  Stream<Tuple> streamAll(
+      Specification<User> spec, Sort sort, Collection<String> attributes, int fetchSize);
+
+  long estimateCount();
+
+  void insertAll(List<User> users, int flushSize);
+
+  Optional<User> updateStatus(long id, UserStatusEnum status, Collection<Long> expectedVersions);
+}
@@ -0,0 +1,150 @@
+package io.vacivor.restful.repository;
+
+import io.vacivor.restful.domain.User;
+import io.vacivor.restful.domain.UserStatusEnum;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional(readOnly = true)
+class UserQueriesImpl implements UserQueries {
+
+  private static final String UPDATE_STATUS_RETURNING = """
+      update users set status = :status, version = version + 1
+      where id = :id%s
+      returning id, username, email, status, created_at, version""";
+
+  private static final String UPDATE_STATUS = """
+      update User u set u.status = :status, u.version = u.version + 1
+      where u.id = :id%s""";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private volatile Boolean returningSupported;
+
+  @Override
+  public List<Tuple> findWindow(
+      Specification<User> spec, Sort sort, long offset, int limit, Collection<String> attributes) {
+    return entityManager.createQuery(tupleQuery(spec, sort, attributes))
+        .setFirstResult(Math.toIntExact(offset))
+        .setMaxResults(limit)
+        .getResultList();
+  }
+
+  @Override
+  public Stream<Tuple> streamAll(
+      Specification<User> spec, Sort sort, Collection<String> attributes, int fetchSize) {
+    return entityManager.createQuery(tupleQuery(spec, sort, attributes))
+        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+        .setHint(HibernateHints.HINT_READ_ONLY, true)
+        .getResultStream();
+  }
+
+  private CriteriaQuery<Tuple> tupleQuery(
+      Specification<User> spec, Sort sort, Collection<String> attributes) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<User> root = query.from(User.class);
+    List<Selection<?>> selections = new ArrayList<>(attributes.size());
+    for (String attribute : attributes) {
+      selections.add(root.get(attribute).alias(attribute));
+    }
+    query.multiselect(selections);
+    if (spec != null) {
+      Predicate predicate = spec.toPredicate(root, query, cb);
+      if (predicate != null) {
+        query.where(predicate);
+      }
+    }
+    query.orderBy(QueryUtils.toOrders(sort, root, cb));
+    return query;
+  }
+
+  @Override
+  public long estimateCount() {
+    Number estimate = (Number) entityManager.createNativeQuery(
+            "select reltuples from pg_class where oid = to_regclass('users')")
+        .getSingleResult();
+    return estimate == null ? -1 : estimate.longValue();
+  }
+
+  @Override
+  @Transactional
+  public void insertAll(List<User> users, int flushSize) {
+    for (int i = 0; i < users.size(); i++) {
+      entityManager.persist(users.get(i));
+      if ((i + 1) % flushSize == 0) {
+        entityManager.flush();
+        entityManager.clear();
+      }
+    }
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Override
+  @Transactional
+  public Optional<User> updateStatus(
+      long id, UserStatusEnum status, Collection<Long> expectedVersions) {
+    if (expectedVersions != null && expectedVersions.isEmpty()) {
+      return Optional.empty();
+    }
+    entityManager.flush();
+    entityManager.clear();
+    if (supportsReturning()) {
+      String versionClause = expectedVersions == null ? "" : " and version in (:versions)";
+      Query query = entityManager.createNativeQuery(
+          UPDATE_STATUS_RETURNING.formatted(versionClause), User.class);
+      query.setParameter("status", status.getCode());
+      bind(query, id, expectedVersions);
+      List<?> rows = query.getResultList();
+      return rows.stream().map(User.class::cast).findFirst();
+    }
+    String versionClause = expectedVersions == null ? "" : " and u.version in (:versions)";
+    Query query = entityManager.createQuery(UPDATE_STATUS.formatted(versionClause));
+    query.setParameter("status", status);
+    bind(query, id, expectedVersions);
+    if (query.executeUpdate() == 0) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(entityManager.find(User.class, id));
+  }
+
+  private void bind(Query query, long id, Collection<Long> expectedVersions) {
+    query.setParameter("id", id);
+    if (expectedVersions != null) {
+      query.setParameter("versions", expectedVersions);
+    }
+  }
+
+  private boolean supportsReturning() {
+    Boolean supported = returningSupported;
+    if (supported == null) {
+      supported = entityManager.getEntityManagerFactory()
+          .unwrap(SessionFactoryImplementor.class)
+          .getJdbcServices()
+          .getDialect() instanceof PostgreSQLDialect;
+      returningSupported = supported;
+    }
+    return supported;
+  }
+}
@@ -1,6 +1,23 @@
 package io.vacivor.restful.repository;
 
 import io.vacivor.restful.domain.User;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface UserRepository extends JpaRepository<User, Long> {}
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>,
+    UserQueries {
+
+  @Transactional(readOnly = true)
+  @Query("select u.version from User u where u.id = :id")
+  Optional<Long> findVersionById(@Param("id") long id);
+
+  @Transactional
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from User u where u.id = :id")
+  int deleteRowById(@Param("id") long id);
+}
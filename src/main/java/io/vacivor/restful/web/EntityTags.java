@@ -0,0 +1,62 @@
+package io.vacivor.restful.web;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class EntityTags {
+
+  private EntityTags() {
+  }
+
+  public static String of(Long version) {
+    return "\"" + (version == null ? 0 : version) + "\"";
+  }
+
+  public static boolean noneMatch(String ifNoneMatch, String etag) {
+    return !anyMatch(ifNoneMatch, etag, true);
+  }
+
+  public static boolean match(String ifMatch, String etag) {
+    return anyMatch(ifMatch, etag, false);
+  }
+
+  public static List<Long> versions(String ifMatch) {
+    if (ifMatch == null || "*".equals(ifMatch.trim())) {
+      return null;
+    }
+    List<Long> versions = new ArrayList<>();
+    for (String raw : ifMatch.split(",")) {
+      String candidate = raw.trim();
+      if (candidate.length() > 2 && candidate.startsWith("\"") && candidate.endsWith("\"")) {
+        try {
+          versions.add(Long.parseLong(candidate.substring(1, candidate.length() - 1)));
+        } catch (NumberFormatException ignored) {
+        }
+      }
+    }
+    return versions;
+  }
+
+  private static boolean anyMatch(String header, String etag, boolean weak) {
+    if (header == null) {
+      return false;
+    }
+    String candidates = header.trim();
+    if ("*".equals(candidates)) {
+      return true;
+    }
+    for (String raw : candidates.split(",")) {
+      String candidate = raw.trim();
+      if (candidate.startsWith("W/")) {
+        if (!weak) {
+          continue;
+        }
+        candidate = candidate.substring(2);
+      }
+      if (candidate.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -1,33 +1,30 @@
 package io.vacivor.restful.web;
 
-import io.vacivor.restful.common.exception.BadRequestException;
+import io.vacivor.restful.hateoas.FieldSet;
+import io.vacivor.restful.hateoas.HalBinaryModule;
 import io.vacivor.restful.hateoas.Shapable;
-import jakarta.servlet.http.HttpServletRequest;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
-import java.util.List;
+import java.lang.reflect.Method;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
-import tools.jackson.core.JacksonException;
-import tools.jackson.core.type.TypeReference;
-import tools.jackson.databind.ObjectMapper;
 
 @RestControllerAdvice
 public class FieldsFilteringAdvice implements ResponseBodyAdvice<Object> {
 
-  private final ObjectMapper objectMapper;
+  private final PipelineMetrics metrics;
+  private final ConcurrentMap<Method, String> endpoints = new ConcurrentHashMap<>();
 
-  public FieldsFilteringAdvice(ObjectMapper objectMapper) {
-    this.objectMapper = objectMapper;
+  public FieldsFilteringAdvice(PipelineMetrics metrics) {
+    this.metrics = metrics;
   }
 
   @Override
@@ -45,73 +42,59 @@ public class FieldsFilteringAdvice implements ResponseBodyAdvice<Object> {
       Class<? extends HttpMessageConverter<?>> selectedConverterType,
       ServerHttpRequest request,
       ServerHttpResponse response) {
-    if (body == null || !isShapableBody(body) || !(request instanceof ServletServerHttpRequest r)) {
+    if (!(request instanceof ServletServerHttpRequest r)) {
       return body;
     }
-    Set<String> fieldSet = parseFields(r.getServletRequest().getParameter("fields"));
-    if (fieldSet.isEmpty()) {
-      return body;
-    }
-    try {
-      Object filtered = filterValue(body, fieldSet);
-      response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
-      return filtered;
-    } catch (JacksonException e) {
-      throw new BadRequestException("Invalid fields");
+    String endpoint = endpoint(returnType);
+    if (endpoint.isEmpty()) {
+      return shape(body, selectedContentType, r, response);
     }
+    long started = metrics.start();
+    Object shaped = shape(body, selectedContentType, r, response);
+    metrics.record(endpoint, "shaping", started);
+    metrics.startSerialization(r.getServletRequest(), endpoint);
+    return shaped;
   }
 
-  private Set<String> parseFields(String fields) {
-    Set<String> result = new LinkedHashSet<>();
-    if (fields == null || fields.isBlank()) {
-      return result;
+  // Error bodies written by @ExceptionHandler methods are not timed as a pipeline stage.
+  private String endpoint(MethodParameter returnType) {
+    Method method = returnType.getMethod();
+    if (method == null) {
+      return "";
     }
-    for (String raw : fields.split(",")) {
-      String v = raw.trim();
-      if (!v.isEmpty()) {
-        result.add(v);
-      }
+    return endpoints.computeIfAbsent(method, key -> returnType.hasMethodAnnotation(
+        ExceptionHandler.class) ? "" : PipelineMetrics.endpoint(
+        returnType.getContainingClass(), key.getName()));
+  }
+
+  private Object shape(Object body, MediaType selectedContentType,
+      ServletServerHttpRequest request, ServerHttpResponse response) {
+    if (body == null || !isShapableBody(body)) {
+      return body;
     }
-    if (result.contains("_links")) {
-      result.add("links");
+    FieldSet fieldSet = FieldSet.parse(request.getServletRequest().getParameter("fields"));
+    if (fieldSet.isAll()) {
+      return body;
     }
-    return result;
+    response.getHeaders().setContentType(shapedContentType(selectedContentType));
+    return new ShapedBody(body, fieldSet);
   }
 
-  private Object filterValue(Object value, Set<String> fieldSet) {
-    if (value == null || !(value instanceof Shapable)
-        && !(value instanceof Iterable) && !(value instanceof Map)) {
-      return value;
+  private MediaType shapedContentType(MediaType selected) {
+    if (selected == null) {
+      return MediaType.APPLICATION_JSON;
     }
-    if (value instanceof Iterable<?> iterable) {
-      List<Object> items = new ArrayList<>();
-      for (Object item : iterable) {
-        items.add(item instanceof Shapable ? filterValue(item, fieldSet) : item);
-      }
-      return items;
+    if (HalBinaryModule.HAL_CBOR.isCompatibleWith(selected)) {
+      return MediaType.APPLICATION_CBOR;
     }
-    if (value instanceof Map<?, ?> mapValue) {
-      @SuppressWarnings("unchecked")
-      Map<String, Object> map = (Map<String, Object>) mapValue;
-      Map<String, Object> result = new LinkedHashMap<>();
-      for (Map.Entry<String, Object> entry : map.entrySet()) {
-        Object entryValue = entry.getValue();
-        result.put(entry.getKey(),
-            entryValue instanceof Shapable ? filterValue(entryValue, fieldSet) : entryValue);
-      }
-      return result;
+    if (HalBinaryModule.HAL_SMILE.isCompatibleWith(selected)) {
+      return HalBinaryModule.APPLICATION_SMILE;
     }
-    return filterMap(objectMapper.convertValue(
-        value, new TypeReference<LinkedHashMap<String, Object>>() {
-        }), fieldSet);
-  }
-
-  private Map<String, Object> filterMap(Map<String, Object> map, Set<String> fieldSet) {
-    map.keySet().removeIf(key -> !fieldSet.contains(key));
-    if (fieldSet.contains("_links") && map.containsKey("links") && !map.containsKey("_links")) {
-      map.put("_links", map.remove("links"));
+    if (MediaType.APPLICATION_CBOR.isCompatibleWith(selected)
+        || HalBinaryModule.APPLICATION_SMILE.isCompatibleWith(selected)) {
+      return selected;
     }
-    return map;
+    return MediaType.APPLICATION_JSON;
   }
 
   private boolean isShapableBody(Object body) {
@@ -1,10 +1,18 @@
 package io.vacivor.restful.web;
 
 import io.vacivor.restful.common.exception.BadRequestException;
+import io.vacivor.restful.common.exception.ConflictException;
 import io.vacivor.restful.common.exception.NotFoundException;
+import io.vacivor.restful.common.exception.PreconditionFailedException;
+import io.vacivor.restful.common.exception.ServiceUnavailableException;
+import io.vacivor.restful.common.jdbc.SqlStates;
 import jakarta.servlet.http.HttpServletRequest;
+import java.util.Locale;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -17,6 +25,10 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+  private static final Map<String, String> UNIQUE_CONSTRAINTS = Map.of(
+      "users_username_key", "username already exists",
+      "users_email_key", "email already exists");
+
   private final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
   @ExceptionHandler(BadRequestException.class)
@@ -31,6 +43,49 @@ public class GlobalExceptionHandler {
     return problem(HttpStatus.NOT_FOUND, ex.getMessage(), request);
   }
 
+  @ExceptionHandler(PreconditionFailedException.class)
+  public ResponseEntity<ProblemDetail> handlePreconditionFailed(
+      PreconditionFailedException ex, HttpServletRequest request) {
+    return problem(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), request);
+  }
+
+  @ExceptionHandler(ConflictException.class)
+  public ResponseEntity<ProblemDetail> handleConflict(
+      ConflictException ex, HttpServletRequest request) {
+    return problem(HttpStatus.CONFLICT, ex.getMessage(), request);
+  }
+
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public ResponseEntity<ProblemDetail> handleServiceUnavailable(
+      ServiceUnavailableException ex, HttpServletRequest request) {
+    ResponseEntity<ProblemDetail> response =
+        problem(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request);
+    return ResponseEntity.status(response.getStatusCode())
+        .headers(response.getHeaders())
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(response.getBody());
+  }
+
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<ProblemDetail> handleOptimisticLocking(
+      OptimisticLockingFailureException ex, HttpServletRequest request) {
+    return problem(HttpStatus.CONFLICT, "Resource was modified concurrently", request);
+  }
+
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ResponseEntity<ProblemDetail> handleDataIntegrityViolation(
+      DataIntegrityViolationException ex, HttpServletRequest request) {
+    if (SqlStates.isUniqueViolation(ex)) {
+      String constraint = SqlStates.constraintName(ex);
+      String detail = constraint == null
+          ? null
+          : UNIQUE_CONSTRAINTS.get(constraint.toLowerCase(Locale.ROOT));
+      return problem(HttpStatus.CONFLICT,
+          detail != null ? detail : "Resource violates a uniqueness constraint", request);
+    }
+    return handleGeneric(ex, request);
+  }
+
   @ExceptionHandler(MethodArgumentTypeMismatchException.class)
   public ResponseEntity<ProblemDetail> handleTypeMismatch(
       MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
@@ -40,6 +95,13 @@ public class GlobalExceptionHandler {
 
   @ExceptionHandler(Exception.class)
   public ResponseEntity<ProblemDetail> handleGeneric(Exception ex, HttpServletRequest request) {
+    // The connection bulkhead rejects inside getConnection, so transaction managers and JPA
+    // usually wrap the rejection before it reaches the controller.
+    for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof ServiceUnavailableException unavailable) {
+        return handleServiceUnavailable(unavailable, request);
+      }
+    }
     log.error(ex.getMessage(), ex);
     return problem(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error", request);
   }
@@ -0,0 +1,79 @@
+package io.vacivor.restful.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PipelineMetrics {
+
+  public static final String METRIC = "restful.pipeline.stage";
+
+  private static final String SERIALIZATION_START =
+      PipelineMetrics.class.getName() + ".SERIALIZATION_START";
+  private static final String SERIALIZATION_ENDPOINT =
+      PipelineMetrics.class.getName() + ".SERIALIZATION_ENDPOINT";
+  private static final String SERIALIZATION_NANOS =
+      PipelineMetrics.class.getName() + ".SERIALIZATION_NANOS";
+
+  private final MeterRegistry registry;
+  private final ConcurrentMap<String, ConcurrentMap<String, Timer>> timers =
+      new ConcurrentHashMap<>();
+
+  public PipelineMetrics(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /** The {@code endpoint} tag for a handler method, e.g. {@code UserController#list}. */
+  public static String endpoint(Class<?> controller, String method) {
+    return controller.getSimpleName() + "#" + method;
+  }
+
+  public long start() {
+    return System.nanoTime();
+  }
+
+  public long record(String endpoint, String stage, long startNanos) {
+    long now = System.nanoTime();
+    timer(endpoint, stage).record(now - startNanos, TimeUnit.NANOSECONDS);
+    return now;
+  }
+
+  public void startSerialization(HttpServletRequest request, String endpoint) {
+    request.setAttribute(SERIALIZATION_ENDPOINT, endpoint);
+    request.setAttribute(SERIALIZATION_START, System.nanoTime());
+  }
+
+  public void finishSerialization(HttpServletRequest request) {
+    if (request.getAttribute(SERIALIZATION_START) instanceof Long startNanos
+        && request.getAttribute(SERIALIZATION_ENDPOINT) instanceof String endpoint) {
+      request.removeAttribute(SERIALIZATION_START);
+      long finished = record(endpoint, "serialization", startNanos);
+      request.setAttribute(SERIALIZATION_NANOS, finished - startNanos);
+    }
+  }
+
+  public static long serializationNanos(HttpServletRequest request) {
+    return request.getAttribute(SERIALIZATION_NANOS) instanceof Long nanos ? nanos : 0;
+  }
+
+  private Timer timer(String endpoint, String stage) {
+    ConcurrentMap<String, Timer> stages = timers.get(endpoint);
+    if (stages == null) {
+      stages = timers.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>());
+    }
+    Timer timer = stages.get(stage);
+    if (timer == null) {
+      timer = stages.computeIfAbsent(stage, key -> Timer.builder(METRIC)
+          .description("Time spent in one stage of the request pipeline")
+          .tag("endpoint", endpoint)
+          .tag("stage", key)
+          .register(registry));
+    }
+    return timer;
+  }
+}
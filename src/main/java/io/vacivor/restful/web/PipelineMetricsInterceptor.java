@@ -0,0 +1,21 @@
+package io.vacivor.restful.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+public class PipelineMetricsInterceptor implements HandlerInterceptor {
+
+  private final PipelineMetrics metrics;
+
+  public PipelineMetricsInterceptor(PipelineMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+      ModelAndView modelAndView) {
+    metrics.finishSerialization(request);
+  }
+}
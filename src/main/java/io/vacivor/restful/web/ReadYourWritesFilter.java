@@ -0,0 +1,72 @@
+package io.vacivor.restful.web;
+
+import io.vacivor.restful.common.jdbc.ReadYourWrites;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  public static final String COOKIE = "restful-primary-until";
+
+  private final Duration pinAfterWrite;
+
+  public ReadYourWritesFilter(Duration pinAfterWrite) {
+    this.pinAfterWrite = pinAfterWrite;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return request.getRequestURI().startsWith("/actuator");
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    ReadYourWrites.begin(pinnedByCookie(request), () -> markWrite(response));
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      ReadYourWrites.end();
+    }
+  }
+
+  private boolean pinnedByCookie(HttpServletRequest request) {
+    Cookie[] cookies = request.getCookies();
+    if (cookies == null) {
+      return false;
+    }
+    for (Cookie cookie : cookies) {
+      if (COOKIE.equals(cookie.getName())) {
+        try {
+          return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+        } catch (NumberFormatException e) {
+          return false;
+        }
+      }
+    }
+    return false;
+  }
+
+  private void markWrite(HttpServletResponse response) {
+    if (response.isCommitted() || pinAfterWrite.isZero()) {
+      return;
+    }
+    long until = System.currentTimeMillis() + pinAfterWrite.toMillis();
+    response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, Long.toString(until))
+        .maxAge(pinAfterWrite)
+        .path("/")
+        .httpOnly(true)
+        .sameSite("Lax")
+        .build()
+        .toString());
+  }
+}
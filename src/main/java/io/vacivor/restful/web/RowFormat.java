@@ -0,0 +1,108 @@
+package io.vacivor.restful.web;
+
+import io.vacivor.restful.common.csv.Csv;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.springframework.http.MediaType;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+public enum RowFormat {
+  NDJSON(MediaType.APPLICATION_NDJSON) {
+    @Override
+    public RowWriter open(OutputStream out, List<String> columns, ObjectMapper objectMapper) {
+      JsonGenerator gen = objectMapper.writer()
+          .withRootValueSeparator((String) null)
+          .createGenerator(out);
+      return new RowWriter() {
+        @Override
+        public void writeRow(Object[] values) {
+          gen.writeStartObject();
+          for (int i = 0; i < values.length; i++) {
+            gen.writeName(columns.get(i));
+            gen.writePOJO(values[i]);
+          }
+          gen.writeEndObject();
+          gen.writeRaw('\n');
+        }
+
+        @Override
+        public void close() {
+          gen.close();
+        }
+      };
+    }
+  },
+  CSV(new MediaType("text", "csv", StandardCharsets.UTF_8)) {
+    @Override
+    public RowWriter open(OutputStream out, List<String> columns, ObjectMapper objectMapper) {
+      BufferedWriter writer = new BufferedWriter(
+          new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+      RowWriter rows = new RowWriter() {
+        @Override
+        public void writeRow(Object[] values) {
+          try {
+            for (int i = 0; i < values.length; i++) {
+              if (i > 0) {
+                writer.write(',');
+              }
+              Csv.writeCell(writer, values[i] == null ? "" : values[i].toString());
+            }
+            writer.write("\r\n");
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }
+
+        @Override
+        public void close() throws IOException {
+          writer.close();
+        }
+      };
+      rows.writeRow(columns.toArray());
+      return rows;
+    }
+  };
+
+  private final MediaType mediaType;
+
+  RowFormat(MediaType mediaType) {
+    this.mediaType = mediaType;
+  }
+
+  public MediaType getMediaType() {
+    return mediaType;
+  }
+
+  public abstract RowWriter open(OutputStream out, List<String> columns, ObjectMapper objectMapper);
+
+  public static RowFormat fromContentType(MediaType contentType) {
+    for (RowFormat format : values()) {
+      if (format.mediaType.isCompatibleWith(contentType)) {
+        return format;
+      }
+    }
+    throw new IllegalArgumentException("Unsupported row format: " + contentType);
+  }
+
+  public static RowFormat fromAccept(String accept) {
+    if (accept != null) {
+      for (MediaType requested : MediaType.parseMediaTypes(accept)) {
+        if (requested.isWildcardType()) {
+          continue;
+        }
+        for (RowFormat format : values()) {
+          if (requested.isCompatibleWith(format.mediaType)) {
+            return format;
+          }
+        }
+      }
+    }
+    return NDJSON;
+  }
+}
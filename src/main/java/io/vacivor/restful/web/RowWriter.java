@@ -0,0 +1,8 @@
+package io.vacivor.restful.web;
+
+import java.io.Closeable;
+
+public interface RowWriter extends Closeable {
+
+  void writeRow(Object[] values);
+}
@@ -0,0 +1,85 @@
+package io.vacivor.restful.web;
+
+import io.vacivor.restful.hateoas.FieldSet;
+import io.vacivor.restful.hateoas.MethodLink;
+import io.vacivor.restful.hateoas.Shapable;
+import io.vacivor.restful.hateoas.ShapePlan;
+import java.util.Map;
+import org.springframework.hateoas.Link;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+@JsonSerialize(using = ShapedBody.Serializer.class)
+public record ShapedBody(Object value, FieldSet fields) {
+
+  public static class Serializer extends ValueSerializer<ShapedBody> {
+
+    @Override
+    public void serialize(ShapedBody body, JsonGenerator gen, SerializationContext ctxt) {
+      writeValue(body.value(), body.fields(), gen);
+    }
+
+    private void writeValue(Object value, FieldSet fields, JsonGenerator gen) {
+      if (value instanceof Shapable) {
+        writeShaped(value, fields, gen);
+      } else if (value instanceof Iterable<?> iterable) {
+        gen.writeStartArray();
+        for (Object item : iterable) {
+          writeItem(item, fields, gen);
+        }
+        gen.writeEndArray();
+      } else if (value instanceof Map<?, ?> map) {
+        gen.writeStartObject();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+          gen.writeName(String.valueOf(entry.getKey()));
+          writeItem(entry.getValue(), fields, gen);
+        }
+        gen.writeEndObject();
+      } else {
+        gen.writePOJO(value);
+      }
+    }
+
+    private void writeItem(Object item, FieldSet fields, JsonGenerator gen) {
+      if (item instanceof Shapable) {
+        writeShaped(item, fields, gen);
+      } else {
+        gen.writePOJO(item);
+      }
+    }
+
+    private void writeShaped(Object item, FieldSet fields, JsonGenerator gen) {
+      gen.writeStartObject();
+      for (ShapePlan.Property property : fields.planFor(item.getClass()).properties()) {
+        Object value = property.read(item);
+        gen.writeName(property.name());
+        if (property.links() && value instanceof Iterable<?> links) {
+          writeLinks(links, gen);
+        } else {
+          gen.writePOJO(value);
+        }
+      }
+      gen.writeEndObject();
+    }
+
+    private void writeLinks(Iterable<?> links, JsonGenerator gen) {
+      gen.writeStartArray();
+      for (Object item : links) {
+        if (!(item instanceof Link link)) {
+          gen.writePOJO(item);
+          continue;
+        }
+        gen.writeStartObject();
+        gen.writeStringProperty("rel", link.getRel().value());
+        gen.writeStringProperty("href", link.getHref());
+        if (link instanceof MethodLink methodLink && methodLink.getMethod() != null) {
+          gen.writeStringProperty("method", methodLink.getMethod());
+        }
+        gen.writeEndObject();
+      }
+      gen.writeEndArray();
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package io.vacivor.restful.web;
+
+import io.vacivor.restful.common.jdbc.SqlAccounting;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+  private final Logger log = LoggerFactory.getLogger(SqlAccountingFilter.class);
+
+  private final int statementThreshold;
+
+  public SqlAccountingFilter(int statementThreshold) {
+    this.statementThreshold = statementThreshold;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String uri = request.getRequestURI();
+    return uri.endsWith(":export") || uri.endsWith(":import") || uri.startsWith("/actuator");
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+    SqlAccounting accounting = SqlAccounting.begin();
+    long started = System.nanoTime();
+    try {
+      chain.doFilter(request, buffered);
+    } finally {
+      SqlAccounting.end();
+      long total = System.nanoTime() - started;
+      long db = accounting.getNanos();
+      long ser = PipelineMetrics.serializationNanos(request);
+      long app = Math.max(0, total - db - ser);
+      if (!buffered.isCommitted()) {
+        buffered.setHeader("Server-Timing", String.format(Locale.ROOT,
+            "db;dur=%.2f;desc=\"%d statements, %d rows\", app;dur=%.2f, ser;dur=%.2f",
+            db / 1e6, accounting.getStatements(), accounting.getRows(), app / 1e6, ser / 1e6));
+      }
+      if (accounting.getStatements() > statementThreshold) {
+        log.warn("{} {} issued {} SQL statements ({} rows, {} ms in the database); "
+                + "possible N+1 query", request.getMethod(), request.getRequestURI(),
+            accounting.getStatements(), accounting.getRows(), db / 1_000_000);
+      }
+      buffered.copyBodyToResponse();
+    }
+  }
+}
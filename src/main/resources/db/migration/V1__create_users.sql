@@ -0,0 +1,29 @@
+-- Idempotent so that databases previously managed by hibernate.ddl-auto=update can be
+-- baselined at version 0 and still run this script.
+create sequence if not exists users_seq start with 1 increment by 50;
+
+create table if not exists users (
+    id         bigint                      not null primary key,
+    username   varchar(64)                 not null,
+    email      varchar(128)                not null,
+    status     integer                     not null,
+    created_at timestamp(6) with time zone not null,
+    version    bigint default 0            not null
+);
+
+-- Ids are handed out in blocks of 50 ending at nextval, so the sequence must start past the
+-- highest existing id.
+select setval('users_seq', m.max_id)
+from (select max(id) as max_id from users) m
+where m.max_id is not null
+  and m.max_id > (select last_value from users_seq);
+
+-- Keyset paging: one (field, id) index per orderBy field; id is served by the primary key.
+create index if not exists users_username_id_idx on users (username, id);
+create index if not exists users_email_id_idx on users (email, id);
+create index if not exists users_status_id_idx on users (status, id);
+create index if not exists users_created_at_id_idx on users (created_at, id);
+
+-- Uniqueness plus prefix (LIKE 'abc%') lookups for the username/email filters.
+create unique index if not exists users_username_key on users (username text_pattern_ops);
+create unique index if not exists users_email_key on users (email text_pattern_ops);
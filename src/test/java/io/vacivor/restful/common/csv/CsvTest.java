@@ -0,0 +1,43 @@
+package io.vacivor.restful.common.csv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+class CsvTest {
+
+  @Test
+  void roundTripsQuotedCells() throws Exception {
+    StringBuilder line = new StringBuilder();
+    Csv.writeCell(line, "plain");
+    line.append(',');
+    Csv.writeCell(line, "a,\"b\"");
+    line.append(',');
+    Csv.writeCell(line, "");
+
+    assertThat(line.toString()).isEqualTo("plain,\"a,\"\"b\"\"\",");
+    assertThat(Csv.parseLine(line.toString())).containsExactly("plain", "a,\"b\"", "");
+  }
+
+  @Test
+  void readsRecordsWithQuotedLineBreaks() throws Exception {
+    StringBuilder record = new StringBuilder();
+    Csv.writeCell(record, "multi\nline \"cell\"");
+    record.append(",next\nsecond,row\n");
+    BufferedReader reader = new BufferedReader(new StringReader(record.toString()));
+
+    String first = Csv.readRecord(reader);
+    assertThat(Csv.parseLine(first)).containsExactly("multi\nline \"cell\"", "next");
+    assertThat(Csv.readRecord(reader)).isEqualTo("second,row");
+    assertThat(Csv.readRecord(reader)).isNull();
+  }
+
+  @Test
+  void rejectsUnterminatedQuote() {
+    assertThatThrownBy(() -> Csv.parseLine("a,\"b"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,65 @@
+package io.vacivor.restful.common.filtering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FilterPlanTest {
+
+  private final FilterPlan<Object> plan = FilterPlan.compile(List.of(
+      FilterField.equality("status", Integer::valueOf),
+      FilterField.prefix("username"),
+      FilterField.range("createdAt", OffsetDateTime::parse)));
+
+  @Test
+  void parsesCriteriaUsingCanonicalNamesAndConvertedValues() {
+    FilterPlan.Filter<Object> filter =
+        plan.parse("STATUS:eq:200; username:SW:ali ;createdAt:ge:2024-01-01T00:00:00Z");
+
+    assertThat(filter.criteria()).containsExactly(
+        new FilterPlan.Criterion("status", FilterOperator.EQ, 200),
+        new FilterPlan.Criterion("username", FilterOperator.SW, "ali"),
+        new FilterPlan.Criterion("createdAt", FilterOperator.GE,
+            OffsetDateTime.parse("2024-01-01T00:00:00Z")));
+    assertThat(filter.specification()).isNotNull();
+    assertThat(filter.fingerprint())
+        .isEqualTo("status:eq:200;username:sw:ali;createdAt:ge:2024-01-01T00:00Z");
+  }
+
+  @Test
+  void returnsCachedFilterForRepeatedInput() {
+    FilterPlan.Filter<Object> first = plan.parse("username:sw:ali");
+    FilterPlan.Filter<Object> second = plan.parse("username:sw:ali");
+
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test
+  void blankInputHasNoSpecification() {
+    assertThat(plan.parse(null).isEmpty()).isTrue();
+    assertThat(plan.parse(" ; ").specification()).isNull();
+  }
+
+  @Test
+  void rejectsFieldsAndOperatorsWithoutAnIndex() {
+    assertThatThrownBy(() -> plan.parse("email:eq:a@example.com"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> plan.parse("status:gt:100"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> plan.parse("username:contains:ali"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void rejectsMalformedItemsAndValues() {
+    assertThatThrownBy(() -> plan.parse("username:sw"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> plan.parse("username:sw: "))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> plan.parse("createdAt:ge:yesterday"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,74 @@
+package io.vacivor.restful.common.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReplicaRoutingDataSourceTest {
+
+  private ReplicaLagMonitor monitor;
+  private ReplicaRoutingDataSource routing;
+
+  @BeforeEach
+  void setUp() {
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    replicas.put("replica-0", mock(DataSource.class));
+    replicas.put("replica-1", mock(DataSource.class));
+    monitor = new ReplicaLagMonitor(replicas, Duration.ofSeconds(5), Duration.ofSeconds(1));
+    monitor.update("replica-0", 0.5);
+    monitor.update("replica-1", 0.0);
+    routing = new ReplicaRoutingDataSource(mock(DataSource.class), replicas, monitor, null);
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReadYourWrites.end();
+  }
+
+  @Test
+  void roundRobinsOverAvailableReplicas() {
+    assertThat(routing.route()).isEqualTo("replica-0");
+    assertThat(routing.route()).isEqualTo("replica-1");
+    assertThat(routing.route()).isEqualTo("replica-0");
+  }
+
+  @Test
+  void skipsLaggingAndUnreachableReplicas() {
+    monitor.update("replica-0", 30);
+
+    assertThat(routing.route()).isEqualTo("replica-1");
+    assertThat(routing.route()).isEqualTo("replica-1");
+
+    monitor.update("replica-1", Double.NaN);
+
+    assertThat(routing.route()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+  }
+
+  @Test
+  void pinsToPrimaryAfterAWriteInTheSameScope() {
+    int[] writes = new int[1];
+    ReadYourWrites.begin(false, () -> writes[0]++);
+
+    assertThat(routing.route()).startsWith("replica-");
+
+    ReadYourWrites.recordWrite();
+    ReadYourWrites.recordWrite();
+
+    assertThat(routing.route()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    assertThat(writes[0]).isEqualTo(1);
+  }
+
+  @Test
+  void pinsToPrimaryWhenTheRequestCarriesARecentWrite() {
+    ReadYourWrites.begin(true, null);
+
+    assertThat(routing.route()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+  }
+}
@@ -0,0 +1,57 @@
+package io.vacivor.restful.common.ordering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class OrderingPlanTest {
+
+  private final OrderingPlan<Sort, Sort.Order> plan = OrderingPlan.compile(
+      new SpringDataOrderingAdapter(), List.of("id", "username", "createdAt"));
+
+  @Test
+  void parsesAllowedFieldsOnlyUsingCanonicalNames() {
+    Sort sort = plan.getSort("CREATEDAT,desc;password,asc;username");
+
+    assertThat(sort.toList()).containsExactly(
+        Sort.Order.desc("createdAt"), Sort.Order.asc("username"));
+  }
+
+  @Test
+  void keepsFirstOccurrenceOfDuplicates() {
+    Sort sort = plan.getSort("id,desc;ID,asc");
+
+    assertThat(sort.toList()).containsExactly(Sort.Order.desc("id"));
+  }
+
+  @Test
+  void returnsCachedOrderingForRepeatedInput() {
+    OrderingPlan.Ordering<Sort, Sort.Order> first = plan.parse("username,asc");
+    OrderingPlan.Ordering<Sort, Sort.Order> second = plan.parse("username,asc");
+
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test
+  void blankInputIsUnsorted() {
+    assertThat(plan.getSort(null).isUnsorted()).isTrue();
+    assertThat(plan.getSort(" ").isUnsorted()).isTrue();
+    assertThat(plan.getSort("password").isUnsorted()).isTrue();
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedEntries() {
+    OrderingPlan<DefaultSort, DefaultOrder> small = OrderingPlan.compile(
+        new DefaultOrderingAdapter(), List.of("id", "username"),
+        OrderingDelimiters.defaultDelimiters(), 1);
+    OrderingPlan.Ordering<DefaultSort, DefaultOrder> first = small.parse("id");
+    small.parse("username");
+
+    OrderingPlan.Ordering<DefaultSort, DefaultOrder> again = small.parse("id");
+
+    assertThat(again).isNotSameAs(first);
+    assertThat(again.orders()).isEqualTo(first.orders());
+  }
+}
@@ -0,0 +1,58 @@
+package io.vacivor.restful.common.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.vacivor.restful.common.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+class CursorCodecTest {
+
+  private final CursorCodec codec = new CursorCodec(
+      JsonMapper.builder().build(), "secret".getBytes(StandardCharsets.UTF_8));
+
+  @Test
+  void roundTrip() {
+    Cursor cursor = new Cursor(Cursor.Direction.NEXT, "username:ASC,id:ASC", List.of("alice", 42));
+
+    Cursor decoded = codec.decode(codec.encode(cursor));
+
+    assertThat(decoded.direction()).isEqualTo(Cursor.Direction.NEXT);
+    assertThat(decoded.ordering()).isEqualTo("username:ASC,id:ASC");
+    assertThat(decoded.keys()).containsExactly("alice", 42);
+  }
+
+  @Test
+  void rejectsTamperedPayload() {
+    String token = codec.encode(
+        new Cursor(Cursor.Direction.NEXT, "id:ASC", List.of(42)));
+    String forged = codec.encode(
+        new Cursor(Cursor.Direction.NEXT, "id:ASC", List.of(4200)));
+    String tampered = forged.substring(0, forged.indexOf('.'))
+        + token.substring(token.indexOf('.'));
+
+    assertThatThrownBy(() -> codec.decode(tampered))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void rejectsCursorSignedWithAnotherSecret() {
+    CursorCodec other = new CursorCodec(
+        JsonMapper.builder().build(), "other".getBytes(StandardCharsets.UTF_8));
+    String token = other.encode(new Cursor(Cursor.Direction.PREV, "id:ASC", List.of(1)));
+
+    assertThatThrownBy(() -> codec.decode(token))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void rejectsGarbage() {
+    assertThatThrownBy(() -> codec.decode("not-a-cursor"))
+        .isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> codec.decode("@@@.@@@"))
+        .isInstanceOf(BadRequestException.class);
+  }
+}
@@ -0,0 +1,83 @@
+package io.vacivor.restful.common.patch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.vacivor.restful.common.exception.BadRequestException;
+import io.vacivor.restful.common.exception.ConflictException;
+import io.vacivor.restful.domain.User;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+class JsonPatchPlanTest {
+
+  private final ObjectMapper objectMapper = JsonMapper.builder().build();
+  private final JsonPatchPlan<User> plan =
+      JsonPatchPlan.compile(User.class, List.of("username", "email"));
+
+  @Test
+  void appliesDirectOperationsAndReportsChangedFields() {
+    User user = user("alice", "alice@example.com");
+
+    var changed = plan.apply(objectMapper.readTree("""
+        [{"op":"test","path":"/username","value":"alice"},
+         {"op":"replace","path":"/username","value":"alicia"},
+         {"op":"replace","path":"/email","value":"alice@example.com"}]
+        """), user, objectMapper);
+
+    assertThat(changed).containsExactly("username");
+    assertThat(user.getUsername()).isEqualTo("alicia");
+  }
+
+  @Test
+  void fallsBackForMoveAndCopy() {
+    User user = user("alice", "alice@example.com");
+
+    plan.apply(objectMapper.readTree("""
+        [{"op":"copy","from":"/email","path":"/username"}]
+        """), user, objectMapper);
+
+    assertThat(user.getUsername()).isEqualTo("alice@example.com");
+  }
+
+  @Test
+  void rejectsFieldsOutsideTheAllowlist() {
+    assertThatThrownBy(() -> plan.apply(objectMapper.readTree("""
+        [{"op":"replace","path":"/status","value":100}]
+        """), user("alice", "alice@example.com"), objectMapper))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void failedTestIsAConflict() {
+    assertThatThrownBy(() -> plan.apply(objectMapper.readTree("""
+        [{"op":"test","path":"/username","value":"bob"}]
+        """), user("alice", "alice@example.com"), objectMapper))
+        .isInstanceOf(ConflictException.class);
+  }
+
+  @Test
+  void unknownOperationIsABadRequest() {
+    assertThatThrownBy(() -> plan.apply(objectMapper.readTree("""
+        [{"op":"frob","path":"/username"}]
+        """), user("alice", "alice@example.com"), objectMapper))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void moveFromAMissingLocationIsABadRequest() {
+    assertThatThrownBy(() -> plan.apply(objectMapper.readTree("""
+        [{"op":"remove","path":"/email"},{"op":"move","from":"/email","path":"/username"}]
+        """), user("alice", "alice@example.com"), objectMapper))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  private User user(String username, String email) {
+    User user = new User();
+    user.setUsername(username);
+    user.setEmail(email);
+    return user;
+  }
+}
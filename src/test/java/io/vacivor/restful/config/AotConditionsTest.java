@@ -0,0 +1,41 @@
+package io.vacivor.restful.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class AotConditionsTest {
+
+  @Test
+  void snapshotAppliesConditionDefaults() {
+    Map<String, String> values = AotConditions.snapshot(new MockEnvironment());
+
+    assertThat(values)
+        .containsEntry("restful.sql-accounting.enabled", "false")
+        .containsEntry("restful.schema.verify-ordering-indexes", "true")
+        .containsEntry("restful.datasource.replicas", "none");
+  }
+
+  @Test
+  void reportsSettingsThatDifferFromTheBuild() {
+    Map<String, String> built = AotConditions.snapshot(new MockEnvironment());
+    MockEnvironment runtime = new MockEnvironment()
+        .withProperty("restful.sql-accounting.enabled", "true")
+        .withProperty("restful.datasource.replicas[0].url", "jdbc:postgresql://replica/db");
+
+    assertThat(AotConditions.differences(built, AotConditions.snapshot(runtime)))
+        .containsExactly(
+            "restful.datasource.replicas was none at build time, is configured now",
+            "restful.sql-accounting.enabled was false at build time, is true now");
+  }
+
+  @Test
+  void matchingConfigurationHasNoDifferences() {
+    Map<String, String> built = AotConditions.snapshot(new MockEnvironment());
+
+    assertThat(AotConditions.differences(built, AotConditions.snapshot(new MockEnvironment())))
+        .isEmpty();
+  }
+}
@@ -0,0 +1,59 @@
+package io.vacivor.restful.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.vacivor.restful.common.jdbc.ReadYourWrites;
+import io.vacivor.restful.config.UserCacheProperties;
+import io.vacivor.restful.domain.User;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UserCacheTest {
+
+  private UserRepository userRepository;
+  private UserCache cache;
+
+  @BeforeEach
+  void setUp() {
+    userRepository = mock(UserRepository.class);
+    cache = new UserCache(userRepository,
+        new UserCacheProperties(true, 100, Duration.ofSeconds(60)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReadYourWrites.end();
+  }
+
+  @Test
+  void doesNotCacheARowDeletedOnThePrimaryButStillOnAReplica() {
+    User stale = new User();
+    stale.setId(1L);
+    stale.setVersion(3L);
+    // The replica still has the row; the primary has already committed the delete.
+    when(userRepository.findById(1L)).thenAnswer(invocation ->
+        ReadYourWrites.isPinned() ? Optional.empty() : Optional.of(stale));
+    when(userRepository.findVersionById(1L)).thenReturn(Optional.empty());
+    ReadYourWrites.begin(false, null);
+
+    assertThat(cache.findById(1L)).isEmpty();
+    assertThat(cache.findVersionById(1L)).isEmpty();
+    assertThat(ReadYourWrites.isPinned()).isFalse();
+  }
+
+  @Test
+  void loadsFromThePrimaryOutsideARequest() {
+    User user = new User();
+    user.setId(2L);
+    when(userRepository.findById(2L)).thenAnswer(invocation ->
+        ReadYourWrites.isPinned() ? Optional.of(user) : Optional.empty());
+
+    assertThat(cache.findById(2L)).map(User::getId).contains(2L);
+    assertThat(ReadYourWrites.isPinned()).isFalse();
+  }
+}